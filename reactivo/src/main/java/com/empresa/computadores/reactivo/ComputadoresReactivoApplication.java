@@ -0,0 +1,12 @@
+package com.empresa.computadores.reactivo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ComputadoresReactivoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ComputadoresReactivoApplication.class, args);
+    }
+}
@@ -0,0 +1,69 @@
+package com.empresa.computadores.reactivo.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Locale;
+
+/**
+ * r2dbc-h2 ejecuta cada sentencia de forma síncrona en el hilo que se suscribe, y el pool entrega
+ * una conexión liberada al siguiente pedido pendiente en el mismo hilo que la libera. Con varios
+ * event loops, uno de ellos quedaba atendiendo en un bucle los pedidos que encolaban los demás
+ * (consulta, respuesta, liberación, siguiente pedido) y no volvía a leer ni escribir sus propios
+ * sockets hasta que bajaba la carga. Con H2 las conexiones se entregan en
+ * Schedulers.boundedElastic(): las sentencias corren allí y los event loops solo atienden HTTP.
+ * Los drivers no bloqueantes (MySQL) no se tocan.
+ */
+@Component
+public class ConexionesBloqueantes implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nombre) {
+        if (bean instanceof ConnectionFactory fabrica && !(bean instanceof FueraDelEventLoop)
+                && esBloqueante(fabrica.getMetadata())) {
+            return new FueraDelEventLoop(fabrica);
+        }
+        return bean;
+    }
+
+    private static boolean esBloqueante(ConnectionFactoryMetadata metadata) {
+        return metadata.getName().toLowerCase(Locale.ROOT).contains("h2");
+    }
+
+    /**
+     * Entrega cada conexión del pool en un hilo de boundedElastic. Implementa Wrapped para que las
+     * métricas del pool (r2dbc.pool.*) sigan encontrando el ConnectionPool.
+     */
+    static final class FueraDelEventLoop implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+        private final ConnectionFactory delegado;
+
+        FueraDelEventLoop(ConnectionFactory delegado) {
+            this.delegado = delegado;
+        }
+
+        @Override
+        public Mono<Connection> create() {
+            // Si el pedido se cancela con la conexión ya entregada pero aún no recibida, se devuelve al pool
+            return Mono.<Connection>from(delegado.create())
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnDiscard(Connection.class, conexion -> Mono.from(conexion.close()).subscribe());
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return delegado.getMetadata();
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return delegado;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.empresa.computadores.reactivo.controller;
+
+import com.empresa.computadores.reactivo.dto.CriteriosBusqueda;
+import com.empresa.computadores.reactivo.model.Computador;
+import com.empresa.computadores.reactivo.service.ComputadorService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mismo contrato que el ComputadorController de la aplicación principal (rutas, parámetros,
+ * códigos de estado y mensajes de error). Los listados se devuelven como Flux: WebFlux escribe
+ * el arreglo JSON a medida que llegan las filas y solo pide más a la base de datos cuando el
+ * cliente las consume (backpressure).
+ */
+@RestController
+@RequestMapping("/api/computadores")
+@CrossOrigin(origins = "*")
+public class ComputadorController {
+    
+    @Autowired
+    private ComputadorService computadorService;
+    
+    /**
+     * GET /api/computadores - Obtener todos los computadores
+     */
+    @GetMapping
+    public Flux<Computador> obtenerTodos() {
+        return computadorService.obtenerTodos();
+    }
+    
+    /**
+     * GET /api/computadores/pagina - Obtener una página de computadores (paginación por cursor)
+     */
+    @GetMapping("/pagina")
+    public Mono<ResponseEntity<?>> obtenerPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        return computadorService.obtenerPagina(cursor, tamano)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(RuntimeException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+    
+    /**
+     * GET /api/computadores/stream - Obtener todos los computadores como NDJSON en streaming
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Computador> obtenerTodosEnStream() {
+        return computadorService.obtenerTodos();
+    }
+    
+    /**
+     * GET /api/computadores/{id} - Obtener computador por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> obtenerPorId(@PathVariable Long id) {
+        return computadorService.obtenerPorId(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.defer(() ->
+                        error(HttpStatus.NOT_FOUND, "Computador no encontrado con ID: " + id)));
+    }
+    
+    /**
+     * POST /api/computadores - Crear nuevo computador
+     */
+    @PostMapping
+    public Mono<ResponseEntity<?>> crear(@Valid @RequestBody Computador computador) {
+        return computadorService.crear(computador)
+                .<ResponseEntity<?>>map(computadorCreado -> ResponseEntity.status(HttpStatus.CREATED).body(computadorCreado))
+                .onErrorResume(RuntimeException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+    
+    /**
+     * PUT /api/computadores/{id} - Actualizar computador existente
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> actualizar(@PathVariable Long id, @Valid @RequestBody Computador computador) {
+        return computadorService.actualizar(id, computador)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(OptimisticLockingFailureException.class, e -> error(HttpStatus.CONFLICT,
+                        "El computador fue modificado por otro usuario, recargue e intente de nuevo"))
+                .onErrorResume(RuntimeException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+    
+    /**
+     * DELETE /api/computadores/{id} - Eliminar computador
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> eliminar(@PathVariable Long id) {
+        return computadorService.eliminar(id)
+                .then(Mono.<ResponseEntity<?>>fromSupplier(() -> {
+                    Map<String, String> mensaje = new HashMap<>();
+                    mensaje.put("mensaje", "Computador eliminado exitosamente");
+                    return ResponseEntity.ok(mensaje);
+                }))
+                .onErrorResume(RuntimeException.class, e -> error(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+    
+    /**
+     * GET /api/computadores/buscar/marca/{marca} - Buscar por marca
+     */
+    @GetMapping("/buscar/marca/{marca}")
+    public Flux<Computador> buscarPorMarca(@PathVariable String marca) {
+        return computadorService.buscarPorMarca(marca);
+    }
+    
+    /**
+     * GET /api/computadores/buscar/modelo/{modelo} - Buscar por modelo
+     */
+    @GetMapping("/buscar/modelo/{modelo}")
+    public Flux<Computador> buscarPorModelo(@PathVariable String modelo) {
+        return computadorService.buscarPorModelo(modelo);
+    }
+    
+    /**
+     * GET /api/computadores/buscar/precio - Buscar por rango de precio
+     */
+    @GetMapping("/buscar/precio")
+    public Flux<Computador> buscarPorRangoPrecio(@RequestParam Double precioMin, @RequestParam Double precioMax) {
+        return computadorService.buscarPorRangoPrecio(precioMin, precioMax);
+    }
+    
+    /**
+     * GET /api/computadores/buscar/stock - Buscar con stock disponible
+     */
+    @GetMapping("/buscar/stock")
+    public Flux<Computador> buscarConStockDisponible(@RequestParam(defaultValue = "0") Integer stockMinimo) {
+        return computadorService.buscarConStockDisponible(stockMinimo);
+    }
+    
+    /**
+     * GET /api/computadores/buscar - Búsqueda avanzada con múltiples criterios
+     * (RAM y almacenamiento en GB; ramTipo p. ej. DDR4, almacenamientoTipo p. ej. SSD)
+     */
+    @GetMapping("/buscar")
+    public Flux<Computador> buscarPorCriterios(
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) String modelo,
+            @RequestParam(required = false) String procesador,
+            @RequestParam(required = false) Double precioMin,
+            @RequestParam(required = false) Double precioMax,
+            @RequestParam(required = false) Integer ramMin,
+            @RequestParam(required = false) Integer ramMax,
+            @RequestParam(required = false) String ramTipo,
+            @RequestParam(required = false) Integer almacenamientoMin,
+            @RequestParam(required = false) Integer almacenamientoMax,
+            @RequestParam(required = false) String almacenamientoTipo) {
+        return computadorService.buscarPorCriterios(new CriteriosBusqueda(marca, modelo, procesador,
+                precioMin, precioMax, ramMin, ramMax, ramTipo, almacenamientoMin, almacenamientoMax,
+                almacenamientoTipo));
+    }
+    
+    /**
+     * PUT /api/computadores/{id}/stock - Actualizar stock de un computador
+     */
+    @PutMapping("/{id}/stock")
+    public Mono<ResponseEntity<?>> actualizarStock(@PathVariable Long id, @RequestParam Integer stock) {
+        return computadorService.actualizarStock(id, stock)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(RuntimeException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+    
+    /**
+     * GET /api/computadores/stock-bajo - Obtener computadores con stock menor que umbral
+     * (por defecto computadores.stock.umbral-bajo)
+     */
+    @GetMapping("/stock-bajo")
+    public Flux<Computador> obtenerConStockBajo(@RequestParam(required = false) Integer umbral) {
+        return computadorService.obtenerConStockBajo(umbral);
+    }
+    
+    private static Mono<ResponseEntity<?>> error(HttpStatus estado, String mensaje) {
+        Map<String, String> error = new HashMap<>();
+        error.put("mensaje", mensaje);
+        return Mono.just(ResponseEntity.status(estado).body(error));
+    }
+}
@@ -0,0 +1,40 @@
+package com.empresa.computadores.reactivo.dto;
+
+import java.util.Locale;
+
+/**
+ * Criterios de una búsqueda de computadores (los mismos parámetros que /buscar de la aplicación
+ * principal). Los textos se comparan como "contiene" sin distinguir mayúsculas; las capacidades
+ * están en GB. Un criterio null no filtra.
+ */
+public record CriteriosBusqueda(
+        String marca,
+        String modelo,
+        String procesador,
+        Double precioMin,
+        Double precioMax,
+        Integer ramMinGb,
+        Integer ramMaxGb,
+        String ramTipo,
+        Integer almacenamientoMinGb,
+        Integer almacenamientoMaxGb,
+        String almacenamientoTipo) {
+
+    public CriteriosBusqueda {
+        marca = normalizar(marca);
+        modelo = normalizar(modelo);
+        procesador = normalizar(procesador);
+        ramTipo = normalizarTipo(ramTipo);
+        almacenamientoTipo = normalizarTipo(almacenamientoTipo);
+    }
+
+    // Las búsquedas ignoran mayúsculas, y un término vacío equivale a no filtrar
+    private static String normalizar(String termino) {
+        return termino == null || termino.isEmpty() ? null : termino.toLowerCase(Locale.ROOT);
+    }
+
+    // Los tipos se guardan en mayúsculas (DDR4, SSD)
+    private static String normalizarTipo(String tipo) {
+        return tipo == null || tipo.isBlank() ? null : tipo.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,182 @@
+package com.empresa.computadores.reactivo.model;
+
+import jakarta.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Computador mapeado con Spring Data R2DBC sobre la misma tabla que la entidad JPA.
+ * Las especificaciones son columnas planas; en el JSON se exponen como el mismo objeto
+ * "especificaciones" que la aplicación principal.
+ */
+@Table("computadores")
+public class Computador {
+    
+    // Nombre del índice único (marca, modelo) creado por las migraciones
+    public static final String RESTRICCION_MARCA_MODELO = "uk_computadores_marca_modelo";
+    
+    // Lo asigna GeneradorIds con los mismos bloques de la secuencia que usa Hibernate
+    @Id
+    private Long id;
+    
+    @NotBlank(message = "La marca es obligatoria")
+    @Size(max = 50, message = "La marca no puede exceder 50 caracteres")
+    private String marca;
+    
+    @NotBlank(message = "El modelo es obligatorio")
+    @Size(max = 100, message = "El modelo no puede exceder 100 caracteres")
+    private String modelo;
+    
+    @NotBlank(message = "El procesador es obligatorio")
+    @Size(max = 100, message = "El procesador no puede exceder 100 caracteres")
+    private String procesador;
+    
+    @NotBlank(message = "La memoria RAM es obligatoria")
+    @Size(max = 20, message = "La memoria RAM no puede exceder 20 caracteres")
+    @Column("memoria_ram")
+    private String memoriaRam;
+    
+    @NotBlank(message = "El almacenamiento es obligatorio")
+    @Size(max = 50, message = "El almacenamiento no puede exceder 50 caracteres")
+    private String almacenamiento;
+    
+    @NotNull(message = "El precio es obligatorio")
+    @DecimalMin(value = "0.0", inclusive = false, message = "El precio debe ser mayor a 0")
+    private Double precio;
+    
+    @NotNull(message = "El stock es obligatorio")
+    @Min(value = 0, message = "El stock no puede ser negativo")
+    private Integer stock;
+    
+    @Column("fecha_creacion")
+    private LocalDateTime fechaCreacion;
+    
+    // null identifica un computador nuevo (INSERT); en cada UPDATE se compara y se incrementa
+    @Version
+    private Long version;
+    
+    // Derivadas de memoriaRam y almacenamiento en cada escritura; no se reciben del cliente
+    @Column("ram_gb")
+    private Integer ramGb;
+    
+    @Column("ram_tipo")
+    private String ramTipo;
+    
+    @Column("almacenamiento_gb")
+    private Integer almacenamientoGb;
+    
+    @Column("almacenamiento_tipo")
+    private String almacenamientoTipo;
+    
+    // Constructores
+    public Computador() {
+        this.fechaCreacion = LocalDateTime.now();
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getMarca() {
+        return marca;
+    }
+    
+    public void setMarca(String marca) {
+        this.marca = marca;
+    }
+    
+    public String getModelo() {
+        return modelo;
+    }
+    
+    public void setModelo(String modelo) {
+        this.modelo = modelo;
+    }
+    
+    public String getProcesador() {
+        return procesador;
+    }
+    
+    public void setProcesador(String procesador) {
+        this.procesador = procesador;
+    }
+    
+    public String getMemoriaRam() {
+        return memoriaRam;
+    }
+    
+    public void setMemoriaRam(String memoriaRam) {
+        this.memoriaRam = memoriaRam;
+    }
+    
+    public String getAlmacenamiento() {
+        return almacenamiento;
+    }
+    
+    public void setAlmacenamiento(String almacenamiento) {
+        this.almacenamiento = almacenamiento;
+    }
+    
+    public Double getPrecio() {
+        return precio;
+    }
+    
+    public void setPrecio(Double precio) {
+        this.precio = precio;
+    }
+    
+    public Integer getStock() {
+        return stock;
+    }
+    
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+    
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+    
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Especificaciones getEspecificaciones() {
+        return new Especificaciones(ramGb, ramTipo, almacenamientoGb, almacenamientoTipo);
+    }
+    
+    /**
+     * Recalcular las especificaciones numéricas a partir de los textos de RAM y almacenamiento
+     */
+    public void calcularEspecificaciones() {
+        Especificaciones especificaciones = Especificaciones.de(memoriaRam, almacenamiento);
+        this.ramGb = especificaciones.getRamGb();
+        this.ramTipo = especificaciones.getRamTipo();
+        this.almacenamientoGb = especificaciones.getAlmacenamientoGb();
+        this.almacenamientoTipo = especificaciones.getAlmacenamientoTipo();
+    }
+    
+    /**
+     * Indica si las especificaciones todavía no se calcularon (filas de los datos iniciales)
+     */
+    public boolean sinEspecificaciones() {
+        return ramGb == null && ramTipo == null && almacenamientoGb == null && almacenamientoTipo == null;
+    }
+}
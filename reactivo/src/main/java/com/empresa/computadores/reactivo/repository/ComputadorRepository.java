@@ -0,0 +1,81 @@
+package com.empresa.computadores.reactivo.repository;
+
+import com.empresa.computadores.reactivo.model.Computador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio R2DBC: cada consulta devuelve un Flux que se lee de la base de datos
+ * a medida que el suscriptor (la respuesta HTTP) pide más elementos.
+ */
+@Repository
+public interface ComputadorRepository extends ReactiveCrudRepository<Computador, Long>, ComputadorRepositoryCustom {
+    
+    /**
+     * Todos los computadores ordenados por ID
+     */
+    Flux<Computador> findAllByOrderByIdAsc();
+    
+    /**
+     * Página de computadores después de un ID (paginación por cursor)
+     */
+    Flux<Computador> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+    
+    /**
+     * Buscar computadores por marca
+     */
+    Flux<Computador> findByMarcaContainingIgnoreCase(String marca);
+    
+    /**
+     * Buscar computadores por modelo
+     */
+    Flux<Computador> findByModeloContainingIgnoreCase(String modelo);
+    
+    /**
+     * Buscar computadores por rango de precio
+     */
+    Flux<Computador> findByPrecioBetween(Double precioMin, Double precioMax);
+    
+    /**
+     * Buscar computadores con stock mayor a un valor
+     */
+    Flux<Computador> findByStockGreaterThan(Integer stock);
+    
+    /**
+     * Buscar computadores con stock menor a un valor
+     */
+    Flux<Computador> findByStockLessThan(Integer stock);
+    
+    /**
+     * Filas sin especificaciones calculadas (datos cargados por las migraciones)
+     */
+    Flux<Computador> findByRamGbIsNullAndAlmacenamientoGbIsNull();
+    
+    /**
+     * Fijar el stock sin leer la entidad
+     */
+    @Modifying
+    @Query("UPDATE computadores SET stock = :stock, version = version + 1 WHERE id = :id")
+    Mono<Integer> establecerStock(Long id, Integer stock);
+    
+    /**
+     * Guardar las especificaciones calculadas sin cambiar la versión (no es una edición del cliente)
+     */
+    @Modifying
+    @Query("UPDATE computadores SET ram_gb = :ramGb, ram_tipo = :ramTipo, " +
+           "almacenamiento_gb = :almacenamientoGb, almacenamiento_tipo = :almacenamientoTipo WHERE id = :id")
+    Mono<Integer> guardarEspecificaciones(Long id, Integer ramGb, String ramTipo,
+                                          Integer almacenamientoGb, String almacenamientoTipo);
+    
+    /**
+     * Eliminar por ID informando si existía
+     */
+    @Modifying
+    @Query("DELETE FROM computadores WHERE id = :id")
+    Mono<Integer> eliminarPorId(Long id);
+}
@@ -0,0 +1,16 @@
+package com.empresa.computadores.reactivo.repository;
+
+import com.empresa.computadores.reactivo.model.Computador;
+import com.empresa.computadores.reactivo.dto.CriteriosBusqueda;
+import reactor.core.publisher.Flux;
+
+/**
+ * Consultas del repositorio que se construyen en tiempo de ejecución
+ */
+public interface ComputadorRepositoryCustom {
+
+    /**
+     * Buscar por múltiples criterios
+     */
+    Flux<Computador> buscarPorCriterios(CriteriosBusqueda criterios);
+}
@@ -0,0 +1,58 @@
+package com.empresa.computadores.reactivo.repository;
+
+import com.empresa.computadores.reactivo.model.Computador;
+import com.empresa.computadores.reactivo.dto.CriteriosBusqueda;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * Búsqueda por criterios con solo las condiciones que se indicaron, igual que en la
+ * aplicación principal: cada rango llega a la base de datos como una condición simple
+ * que puede resolverse con su índice (precio, ram_gb, almacenamiento_tipo/almacenamiento_gb).
+ */
+class ComputadorRepositoryImpl implements ComputadorRepositoryCustom {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<Computador> buscarPorCriterios(CriteriosBusqueda criterios) {
+        Criteria condiciones = Criteria.empty();
+        condiciones = contiene(condiciones, "marca", criterios.marca());
+        condiciones = contiene(condiciones, "modelo", criterios.modelo());
+        condiciones = contiene(condiciones, "procesador", criterios.procesador());
+        condiciones = rango(condiciones, "precio", criterios.precioMin(), criterios.precioMax());
+        condiciones = rango(condiciones, "ramGb", criterios.ramMinGb(), criterios.ramMaxGb());
+        condiciones = igual(condiciones, "ramTipo", criterios.ramTipo());
+        condiciones = igual(condiciones, "almacenamientoTipo", criterios.almacenamientoTipo());
+        condiciones = rango(condiciones, "almacenamientoGb",
+                criterios.almacenamientoMinGb(), criterios.almacenamientoMaxGb());
+
+        return template.select(Computador.class)
+                .matching(Query.query(condiciones).sort(Sort.by("id")))
+                .all();
+    }
+
+    private static Criteria contiene(Criteria condiciones, String campo, String termino) {
+        return termino == null ? condiciones
+                : condiciones.and(campo).like("%" + termino + "%").ignoreCase(true);
+    }
+
+    private static Criteria igual(Criteria condiciones, String campo, String valor) {
+        return valor == null ? condiciones : condiciones.and(campo).is(valor);
+    }
+
+    private static Criteria rango(Criteria condiciones, String campo, Object minimo, Object maximo) {
+        if (minimo != null) {
+            condiciones = condiciones.and(campo).greaterThanOrEquals(minimo);
+        }
+        if (maximo != null) {
+            condiciones = condiciones.and(campo).lessThanOrEquals(maximo);
+        }
+        return condiciones;
+    }
+}
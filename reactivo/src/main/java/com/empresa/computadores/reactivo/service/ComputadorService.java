@@ -0,0 +1,237 @@
+package com.empresa.computadores.reactivo.service;
+
+import com.empresa.computadores.reactivo.dto.CriteriosBusqueda;
+import com.empresa.computadores.reactivo.model.Computador;
+import com.empresa.computadores.reactivo.model.Especificaciones;
+import com.empresa.computadores.reactivo.repository.ComputadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Misma lógica de negocio que el ComputadorService de la aplicación principal, sin bloquear:
+ * cada método devuelve un Mono o un Flux y la consulta se ejecuta al suscribirse. Los listados
+ * no se acumulan en memoria; se emiten fila por fila según lo pida el cliente.
+ */
+@Service
+public class ComputadorService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ComputadorService.class);
+    
+    @Autowired
+    private ComputadorRepository computadorRepository;
+    
+    @Autowired
+    private GeneradorIds generadorIds;
+    
+    @Value("${computadores.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaDefecto;
+    
+    @Value("${computadores.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+    
+    @Value("${computadores.stock.umbral-bajo:5}")
+    private int umbralStockBajo;
+    
+    /**
+     * Obtener todos los computadores
+     */
+    public Flux<Computador> obtenerTodos() {
+        return computadorRepository.findAllByOrderByIdAsc();
+    }
+    
+    /**
+     * Obtener una página de computadores a partir de un cursor opaco
+     */
+    public Mono<Map<String, Object>> obtenerPagina(String cursor, Integer tamano) {
+        int tamanoPagina = tamanoPagina(tamano);
+        
+        // Se pide un registro extra para saber si existe una página siguiente
+        return Mono.fromCallable(() -> CursorPaginacion.decodificar(cursor)).flatMap(despuesDeId ->
+                computadorRepository.findByIdGreaterThanOrderByIdAsc(despuesDeId, Limit.of(tamanoPagina + 1))
+                        .collectList()
+                        .map(computadores -> {
+                            boolean haySiguiente = computadores.size() > tamanoPagina;
+                            List<Computador> contenido = haySiguiente
+                                    ? computadores.subList(0, tamanoPagina) : computadores;
+                            
+                            Map<String, Object> pagina = new HashMap<>();
+                            pagina.put("contenido", contenido);
+                            pagina.put("tamano", contenido.size());
+                            pagina.put("siguienteCursor", haySiguiente
+                                    ? CursorPaginacion.codificar(contenido.get(contenido.size() - 1).getId())
+                                    : null);
+                            return pagina;
+                        }));
+    }
+    
+    private int tamanoPagina(Integer tamano) {
+        return tamano == null ? tamanoPaginaDefecto : Math.min(Math.max(tamano, 1), tamanoPaginaMaximo);
+    }
+    
+    /**
+     * Obtener computador por ID
+     */
+    public Mono<Computador> obtenerPorId(Long id) {
+        return computadorRepository.findById(id);
+    }
+    
+    /**
+     * Crear un nuevo computador
+     */
+    public Mono<Computador> crear(Computador computador) {
+        // La versión la asigna Spring Data; un valor enviado por el cliente se ignora
+        computador.setVersion(null);
+        computador.calcularEspecificaciones();
+        
+        // El índice único (marca, modelo) valida los duplicados al insertar, sin consulta previa
+        return generadorIds.siguienteId()
+                .flatMap(id -> {
+                    computador.setId(id);
+                    return guardarValidandoMarcaModelo(computador);
+                });
+    }
+    
+    private Mono<Computador> guardarValidandoMarcaModelo(Computador computador) {
+        return computadorRepository.save(computador)
+                .onErrorMap(DataIntegrityViolationException.class, e -> esMarcaModeloDuplicado(e)
+                        ? new RuntimeException("Ya existe un computador con la marca " +
+                                computador.getMarca() + " y modelo " + computador.getModelo())
+                        : e);
+    }
+    
+    private static boolean esMarcaModeloDuplicado(DataIntegrityViolationException e) {
+        return e.getMessage() != null
+                && e.getMessage().toLowerCase(Locale.ROOT).contains(Computador.RESTRICCION_MARCA_MODELO);
+    }
+    
+    /**
+     * Actualizar un computador existente
+     */
+    public Mono<Computador> actualizar(Long id, Computador computadorActualizado) {
+        return computadorRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Computador no encontrado con ID: " + id)))
+                .flatMap(computadorExistente -> {
+                    // Bloqueo optimista: si el cliente envía la versión que leyó, debe seguir siendo la actual
+                    if (computadorActualizado.getVersion() != null &&
+                        !computadorActualizado.getVersion().equals(computadorExistente.getVersion())) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Versión desactualizada del computador " + id));
+                    }
+                    
+                    computadorExistente.setMarca(computadorActualizado.getMarca());
+                    computadorExistente.setModelo(computadorActualizado.getModelo());
+                    computadorExistente.setProcesador(computadorActualizado.getProcesador());
+                    computadorExistente.setMemoriaRam(computadorActualizado.getMemoriaRam());
+                    computadorExistente.setAlmacenamiento(computadorActualizado.getAlmacenamiento());
+                    computadorExistente.setPrecio(computadorActualizado.getPrecio());
+                    computadorExistente.setStock(computadorActualizado.getStock());
+                    computadorExistente.calcularEspecificaciones();
+                    
+                    // El UPDATE compara la versión leída, así que un cambio concurrente también falla
+                    return guardarValidandoMarcaModelo(computadorExistente);
+                });
+    }
+    
+    /**
+     * Eliminar un computador
+     */
+    public Mono<Void> eliminar(Long id) {
+        return computadorRepository.eliminarPorId(id)
+                .flatMap(eliminados -> eliminados == 0
+                        ? Mono.error(new RuntimeException("Computador no encontrado con ID: " + id))
+                        : Mono.empty());
+    }
+    
+    /**
+     * Buscar computadores por marca
+     */
+    public Flux<Computador> buscarPorMarca(String marca) {
+        return computadorRepository.findByMarcaContainingIgnoreCase(marca);
+    }
+    
+    /**
+     * Buscar computadores por modelo
+     */
+    public Flux<Computador> buscarPorModelo(String modelo) {
+        return computadorRepository.findByModeloContainingIgnoreCase(modelo);
+    }
+    
+    /**
+     * Buscar computadores por rango de precio
+     */
+    public Flux<Computador> buscarPorRangoPrecio(Double precioMin, Double precioMax) {
+        return computadorRepository.findByPrecioBetween(precioMin, precioMax);
+    }
+    
+    /**
+     * Buscar computadores con stock disponible
+     */
+    public Flux<Computador> buscarConStockDisponible(Integer stockMinimo) {
+        return computadorRepository.findByStockGreaterThan(stockMinimo);
+    }
+    
+    /**
+     * Buscar computadores por múltiples criterios (texto, precio y especificaciones)
+     */
+    public Flux<Computador> buscarPorCriterios(CriteriosBusqueda criterios) {
+        return computadorRepository.buscarPorCriterios(criterios);
+    }
+    
+    /**
+     * Obtener computadores con stock menor que el umbral (por defecto computadores.stock.umbral-bajo)
+     */
+    public Flux<Computador> obtenerConStockBajo(Integer umbral) {
+        return computadorRepository.findByStockLessThan(umbral != null ? umbral : umbralStockBajo);
+    }
+    
+    /**
+     * Actualizar stock de un computador
+     */
+    public Mono<Computador> actualizarStock(Long id, Integer nuevoStock) {
+        if (nuevoStock < 0) {
+            return Mono.error(new RuntimeException("El stock no puede ser negativo"));
+        }
+        
+        // Una sola sentencia UPDATE en lugar de leer, modificar y guardar
+        return computadorRepository.establecerStock(id, nuevoStock)
+                .flatMap(actualizados -> actualizados == 0
+                        ? Mono.error(new RuntimeException("Computador no encontrado con ID: " + id))
+                        : computadorRepository.findById(id));
+    }
+    
+    /**
+     * Completar las especificaciones de las filas que las migraciones insertaron sin ellas
+     * (lo mismo que BackfillEspecificaciones en la aplicación principal)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarEspecificaciones() {
+        computadorRepository.findByRamGbIsNullAndAlmacenamientoGbIsNull()
+                .filter(Computador::sinEspecificaciones)
+                .concatMap(computador -> {
+                    Especificaciones especificaciones = Especificaciones.de(
+                            computador.getMemoriaRam(), computador.getAlmacenamiento());
+                    return computadorRepository.guardarEspecificaciones(computador.getId(),
+                            especificaciones.getRamGb(), especificaciones.getRamTipo(),
+                            especificaciones.getAlmacenamientoGb(), especificaciones.getAlmacenamientoTipo());
+                })
+                .count()
+                .subscribe(
+                        completados -> log.info("Especificaciones completadas en {} computadores", completados),
+                        error -> log.warn("No se pudieron completar las especificaciones", error));
+    }
+}
@@ -0,0 +1,43 @@
+package com.empresa.computadores.reactivo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica el cursor opaco de la paginación por ID (mismo formato que la aplicación
+ * principal, así que un cursor sirve en ambas)
+ */
+public final class CursorPaginacion {
+
+    private static final String PREFIJO = "id:";
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Generar el cursor que apunta a continuación del ID indicado
+     */
+    public static String codificar(Long ultimoId) {
+        String valor = PREFIJO + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Obtener el último ID leído a partir del cursor (0 si no hay cursor)
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return Long.parseLong(valor.substring(PREFIJO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.empresa.computadores.reactivo.service;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * IDs de Computador por bloques de computadores_seq, compatibles con el optimizador "pooled"
+ * de Hibernate (allocationSize = 50): el valor v leído reserva los IDs v-49..v. Así las dos
+ * aplicaciones pueden escribir en la misma base de datos sin repetir IDs. Solo cuesta una
+ * consulta cada 50 inserciones.
+ */
+@Component
+public class GeneradorIds {
+
+    static final int TAMANO_BLOQUE = 50;
+    private static final long VALOR_INICIAL = 1;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    // Bloque en uso: siguiente ID a entregar y último ID reservado
+    private long siguiente = 1;
+    private long ultimo = 0;
+
+    /**
+     * Siguiente ID libre; solo consulta la base de datos cuando se agota el bloque
+     */
+    public Mono<Long> siguienteId() {
+        return Mono.defer(() -> {
+            Long id = tomarDelBloque();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return reservarBloque().map(this::usarBloque);
+        });
+    }
+
+    private synchronized Long tomarDelBloque() {
+        return siguiente <= ultimo ? siguiente++ : null;
+    }
+
+    // Peticiones concurrentes pueden reservar bloques a la vez: el último en llegar reemplaza al
+    // anterior y los IDs que quedaron sin usar solo dejan huecos
+    private synchronized long usarBloque(long[] bloque) {
+        siguiente = bloque[0] + 1;
+        ultimo = bloque[1];
+        return bloque[0];
+    }
+
+    private Mono<long[]> reservarBloque() {
+        return siguienteValor().flatMap(valor -> {
+            // Como Hibernate: el primer valor de una secuencia nueva es el inicio del bloque, no el final
+            if (valor == VALOR_INICIAL) {
+                return siguienteValor().map(hasta -> new long[] {valor, hasta});
+            }
+            return Mono.just(new long[] {valor - TAMANO_BLOQUE + 1, valor});
+        });
+    }
+
+    private Mono<Long> siguienteValor() {
+        String motor = connectionFactory.getMetadata().getName().toLowerCase(Locale.ROOT);
+        if (!motor.contains("mysql")) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR computadores_seq")
+                    .map(fila -> fila.get(0, Long.class))
+                    .one();
+        }
+        // MySQL no tiene secuencias: la tabla computadores_seq se lee y avanza en una transacción
+        return databaseClient.sql("SELECT next_val FROM computadores_seq FOR UPDATE")
+                .map(fila -> fila.get(0, Long.class))
+                .one()
+                .flatMap(valor -> databaseClient.sql("UPDATE computadores_seq SET next_val = :siguiente")
+                        .bind("siguiente", valor + TAMANO_BLOQUE)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(valor))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,76 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.service.CacheComputadores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * buscarPorCriterios por el servicio con el índice de trigramas siempre, con el umbral de
+ * candidatos configurado y sin el índice (solo la consulta JPQL), para un término selectivo y
+ * uno común. La caché de consultas se vacía antes de cada invocación: siempre se mide la consulta.
+ */
+@BenchmarkMode({Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusquedaBenchmark {
+
+    private static final Map<String, CriteriosBusqueda> TERMINOS = Map.of(
+            // Modelo-123, Modelo-1230..1239...: pocos candidatos
+            "selectivo", CriteriosBusqueda.de(null, "modelo-123", null, null, null),
+            // Uno de cada seis computadores
+            "comun", CriteriosBusqueda.de(null, null, "core i5", null, null));
+
+    @State(Scope.Benchmark)
+    public static class Busqueda {
+
+        @Param({"con", "umbral", "sin"})
+        public String indice;
+
+        @Param({"selectivo", "comun"})
+        public String termino;
+
+        CriteriosBusqueda criterios;
+        CacheComputadores cache;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) {
+            criterios = TERMINOS.get(termino);
+            cache = catalogo.contexto.getBean(CacheComputadores.class);
+            // "umbral" deja computadores.busqueda.maximo-candidatos como está configurado
+            if ("con".equals(indice)) {
+                ReflectionTestUtils.setField(catalogo.servicio, "maximoCandidatos", Integer.MAX_VALUE);
+            } else if ("sin".equals(indice)) {
+                ReflectionTestUtils.setField(catalogo.servicio, "maximoCandidatos", 0);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void vaciarCache() {
+            cache.invalidarTodo();
+        }
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> buscarPorCriterios(CatalogoState estado, Busqueda busqueda) {
+        return estado.servicio.buscarPorCriterios(busqueda.criterios);
+    }
+}
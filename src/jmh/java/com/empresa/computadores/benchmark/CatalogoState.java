@@ -0,0 +1,123 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.ComputadoresApplication;
+import com.empresa.computadores.repository.ComputadorRepository;
+import com.empresa.computadores.service.BackfillEspecificaciones;
+import com.empresa.computadores.service.ComputadorService;
+import com.empresa.computadores.service.IndiceFacetas;
+import com.empresa.computadores.service.IndiceRangos;
+import com.empresa.computadores.service.IndiceTrigramas;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aplicación completa sobre H2 en memoria con un catálogo de N computadores generados
+ */
+@State(Scope.Benchmark)
+public class CatalogoState {
+
+    static final long PRIMER_ID = 1_000_000_000L;
+
+    private static final String[] PROCESADORES = {
+            "Intel Core i3-1115G4", "Intel Core i5-1235U", "Intel Core i7-1260P",
+            "AMD Ryzen 5 5500U", "AMD Ryzen 7 5700U", "Apple M2"
+    };
+    private static final String[] MEMORIAS = {"8GB DDR4", "12GB DDR4", "16GB DDR4", "32GB DDR5"};
+    private static final String[] ALMACENAMIENTOS = {"256GB SSD", "512GB SSD", "1TB SSD", "1TB HDD"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int filas;
+
+    ConfigurableApplicationContext contexto;
+    ComputadorRepository repositorio;
+    ComputadorService servicio;
+    MockMvc mockMvc;
+
+    private final AtomicLong nuevos = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.properties
+        contexto = new SpringApplicationBuilder(ComputadoresApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.empresa.computadores=WARN",
+                "--logging.level.org.springframework.web=WARN");
+        repositorio = contexto.getBean(ComputadorRepository.class);
+        servicio = contexto.getBean(ComputadorService.class);
+
+        sembrar(contexto.getBean(JdbcTemplate.class), filas);
+        contexto.getBean(BackfillEspecificaciones.class).completar();
+        contexto.getBean(IndiceTrigramas.class).reconstruir();
+        contexto.getBean(IndiceFacetas.class).reconstruir();
+        contexto.getBean(IndiceRangos.class).reconstruir();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    /**
+     * ID de un computador sembrado, elegido al azar
+     */
+    long idAleatorio() {
+        return PRIMER_ID + ThreadLocalRandom.current().nextInt(filas);
+    }
+
+    /**
+     * Modelo que todavía no existe, para medir crear sin chocar con la validación de duplicados
+     */
+    String modeloNuevo() {
+        return "Nuevo-" + nuevos.incrementAndGet();
+    }
+
+    private static void sembrar(JdbcTemplate jdbc, int filas) {
+        String sql = "INSERT INTO computadores (id, marca, modelo, procesador, memoria_ram, almacenamiento, " +
+                "precio, stock, fecha_creacion, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 0; i < filas; i++) {
+            lote.add(new Object[]{
+                    PRIMER_ID + i,
+                    "Marca" + (i % 50),
+                    "Modelo-" + i,
+                    PROCESADORES[i % PROCESADORES.length],
+                    MEMORIAS[i % MEMORIAS.length],
+                    ALMACENAMIENTOS[(i / 7) % ALMACENAMIENTOS.length],
+                    300.0 + (i * 37L % 3000),
+                    i % 40,
+                    ahora
+            });
+            if (lote.size() == 5000) {
+                jdbc.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbc.batchUpdate(sql, lote);
+        }
+    }
+}
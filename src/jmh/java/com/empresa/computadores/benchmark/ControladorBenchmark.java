@@ -0,0 +1,67 @@
+package com.empresa.computadores.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Ida y vuelta HTTP completa por ComputadorController usando MockMvc
+ * (serialización JSON incluida; las lecturas pasan por la caché del servicio).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControladorBenchmark {
+
+    @Benchmark
+    public String obtenerPorId(CatalogoState estado) throws Exception {
+        return estado.mockMvc.perform(get("/api/computadores/{id}", estado.idAleatorio()))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String buscar(CatalogoState estado) throws Exception {
+        return estado.mockMvc.perform(get("/api/computadores/buscar")
+                        .param("marca", "marca1")
+                        .param("modelo", "modelo-1")
+                        .param("precioMax", "2000"))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String obtenerPagina(CatalogoState estado) throws Exception {
+        return estado.mockMvc.perform(get("/api/computadores/pagina").param("tamano", "50"))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String buscarConFacetas(CatalogoState estado) throws Exception {
+        return estado.mockMvc.perform(get("/api/computadores/facetas")
+                        .param("familiaProcesador", "Intel Core i5")
+                        .param("rangoPrecio", "1000-1500"))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String crear(CatalogoState estado) throws Exception {
+        String cuerpo = "{\"marca\":\"Benchmark\",\"modelo\":\"" + estado.modeloNuevo() + "\"," +
+                "\"procesador\":\"Intel Core i5-1235U\",\"memoriaRam\":\"8GB DDR4\"," +
+                "\"almacenamiento\":\"512GB SSD\",\"precio\":999.0,\"stock\":10}";
+        return estado.mockMvc.perform(post("/api/computadores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas que dependen de los índices de las migraciones V1 y V3, con y sin ellos.
+ * Al iniciar cada combinación se imprime el plan de ejecución (EXPLAIN) de cada consulta.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndicesBenchmark {
+
+    private static final String[] CONSULTAS = {
+            "SELECT COUNT(*) FROM computadores WHERE marca = 'Marca7' AND modelo = 'Modelo-507'",
+            "SELECT id FROM computadores WHERE precio BETWEEN 1000 AND 1010",
+            "SELECT id FROM computadores WHERE stock < 1",
+            "SELECT id FROM computadores WHERE stock > 38",
+            "SELECT id FROM computadores WHERE ram_gb >= 32 AND almacenamiento_tipo = 'SSD' AND almacenamiento_gb >= 1024"
+    };
+
+    private static final CriteriosBusqueda ESPECIFICACIONES = new CriteriosBusqueda(
+            null, null, null, null, null, 32, null, null, 1024, null, "SSD");
+
+    @State(Scope.Benchmark)
+    public static class Esquema {
+
+        @Param({"con", "sin"})
+        public String indices;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) {
+            JdbcTemplate jdbc = catalogo.contexto.getBean(JdbcTemplate.class);
+            if ("sin".equals(indices)) {
+                jdbc.execute("ALTER TABLE computadores DROP CONSTRAINT uk_computadores_marca_modelo");
+                jdbc.execute("DROP INDEX idx_computadores_precio");
+                jdbc.execute("DROP INDEX idx_computadores_stock");
+                jdbc.execute("DROP INDEX idx_computadores_ram_gb");
+                jdbc.execute("DROP INDEX idx_computadores_almacenamiento");
+                jdbc.execute("DROP INDEX idx_computadores_almacenamiento_gb");
+            }
+            System.out.println();
+            for (String consulta : CONSULTAS) {
+                System.out.println(jdbc.queryForObject("EXPLAIN " + consulta, String.class).replaceAll("\\s+", " "));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean existsByMarcaAndModelo(CatalogoState estado, Esquema esquema) {
+        int i = ThreadLocalRandom.current().nextInt(estado.filas);
+        return estado.repositorio.existsByMarcaAndModelo("Marca" + (i % 50), "Modelo-" + i);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> findByPrecioBetween(CatalogoState estado, Esquema esquema) {
+        double desde = 300 + ThreadLocalRandom.current().nextInt(3000);
+        return estado.repositorio.findByPrecioBetween(desde, desde + 10);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> findByStockLessThan(CatalogoState estado, Esquema esquema) {
+        return estado.repositorio.findByStockLessThan(1);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> findByStockGreaterThan(CatalogoState estado, Esquema esquema) {
+        return estado.repositorio.findByStockGreaterThan(38);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> buscarPorEspecificaciones(CatalogoState estado, Esquema esquema) {
+        return estado.repositorio.buscarPorCriterios(ESPECIFICACIONES, null);
+    }
+}
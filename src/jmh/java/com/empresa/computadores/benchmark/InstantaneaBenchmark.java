@@ -0,0 +1,66 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.service.InstantaneaCatalogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exportar e importar el catálogo completo con InstantaneaCatalogo. Cada medición es una
+ * operación completa; importar incluye reconstruir los índices en memoria.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class InstantaneaBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Archivos {
+
+        InstantaneaCatalogo instantanea;
+        Path exportado;
+        Path destino;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) throws IOException {
+            instantanea = catalogo.contexto.getBean(InstantaneaCatalogo.class);
+            exportado = Files.createTempFile("benchmark-", ".cmps");
+            destino = Files.createTempFile("benchmark-", ".cmps");
+            instantanea.exportar(exportado);
+            System.out.printf("%nInstantánea de %d computadores: %d bytes%n", catalogo.filas, Files.size(exportado));
+        }
+
+        @TearDown(Level.Trial)
+        public void borrar() throws IOException {
+            Files.deleteIfExists(exportado);
+            Files.deleteIfExists(destino);
+        }
+    }
+
+    @Benchmark
+    public long exportar(Archivos archivos) throws IOException {
+        return archivos.instantanea.exportar(archivos.destino);
+    }
+
+    @Benchmark
+    public Map<String, Object> importar(Archivos archivos) throws IOException {
+        return archivos.instantanea.importar(archivos.exportado);
+    }
+}
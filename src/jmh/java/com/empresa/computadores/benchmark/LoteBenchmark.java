@@ -0,0 +1,100 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.CambioStock;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.service.CacheComputadores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones por lote frente al mismo trabajo elemento por elemento (una transacción por
+ * elemento, como una llamada HTTP por computador). Cada operación procesa "tamano" computadores;
+ * las lecturas empiezan con la caché vacía en ambos casos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lote {
+
+        @Param({"100", "1000"})
+        public int tamano;
+
+        CacheComputadores cache;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) {
+            cache = catalogo.contexto.getBean(CacheComputadores.class);
+        }
+
+        // IDs consecutivos a partir de un computador sembrado al azar
+        List<Long> ids(CatalogoState catalogo) {
+            long desde = CatalogoState.PRIMER_ID + ThreadLocalRandom.current().nextInt(catalogo.filas - tamano);
+            List<Long> ids = new ArrayList<>(tamano);
+            for (int i = 0; i < tamano; i++) {
+                ids.add(desde + i);
+            }
+            return ids;
+        }
+    }
+
+    @Benchmark
+    public int obtenerPorItem(CatalogoState estado, Lote lote) {
+        lote.cache.invalidarTodo();
+        int encontrados = 0;
+        for (Long id : lote.ids(estado)) {
+            Optional<Computador> computador = estado.servicio.obtenerPorId(id);
+            encontrados += computador.isPresent() ? 1 : 0;
+        }
+        return encontrados;
+    }
+
+    @Benchmark
+    public Map<String, Object> obtenerEnLote(CatalogoState estado, Lote lote) {
+        lote.cache.invalidarTodo();
+        return estado.servicio.obtenerPorIds(lote.ids(estado));
+    }
+
+    @Benchmark
+    public int actualizarStockPorItem(CatalogoState estado, Lote lote) {
+        int actualizados = 0;
+        for (Long id : lote.ids(estado)) {
+            estado.servicio.actualizarStock(id, (int) (id % 40));
+            actualizados++;
+        }
+        return actualizados;
+    }
+
+    @Benchmark
+    public Map<String, Object> actualizarStockEnLote(CatalogoState estado, Lote lote) {
+        List<CambioStock> cambios = new ArrayList<>(lote.tamano);
+        for (Long id : lote.ids(estado)) {
+            // Mitad valores fijos (se repiten: UPDATE ... IN) y mitad deltas (lote JDBC)
+            cambios.add(id % 2 == 0
+                    ? new CambioStock(id, (int) (id % 40), null)
+                    : new CambioStock(id, null, 1));
+        }
+        return estado.servicio.actualizarStockLote(cambios);
+    }
+}
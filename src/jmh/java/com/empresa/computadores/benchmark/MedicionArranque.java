@@ -0,0 +1,89 @@
+package com.empresa.computadores.benchmark;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque: lanza la aplicación con el comando indicado y mide cuánto tarda la
+ * primera respuesta 200 de la URL (por defecto GET /api/computadores), desde que se crea el
+ * proceso. Se repite varias veces con una JVM nueva cada vez y se reporta mínimo, mediana y máximo.
+ * La salida de cada arranque queda en target/arranque-N.log.
+ *
+ * Argumentos: url repeticiones comando...
+ */
+public class MedicionArranque {
+
+    private static final Duration TIEMPO_MAXIMO = Duration.ofMinutes(2);
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: MedicionArranque url repeticiones comando...");
+            System.exit(1);
+        }
+        URI url = URI.create(args[0]);
+        int repeticiones = Integer.parseInt(args[1]);
+        List<String> comando = Arrays.asList(args).subList(2, args.length);
+
+        MedicionArranque medicion = new MedicionArranque();
+        System.out.printf("Comando: %s%n", String.join(" ", comando));
+        long[] tiempos = new long[repeticiones];
+        for (int i = 0; i < repeticiones; i++) {
+            tiempos[i] = medicion.medir(comando, url, new File("target/arranque-" + (i + 1) + ".log"));
+            System.out.printf("Arranque %d: %d ms%n", i + 1, tiempos[i]);
+        }
+
+        Arrays.sort(tiempos);
+        System.out.println();
+        System.out.printf("Primera respuesta 200 (mínimo):  %d ms%n", tiempos[0]);
+        System.out.printf("Primera respuesta 200 (mediana): %d ms%n", tiempos[tiempos.length / 2]);
+        System.out.printf("Primera respuesta 200 (máximo):  %d ms%n", tiempos[tiempos.length - 1]);
+    }
+
+    private long medir(List<String> comando, URI url, File log) throws Exception {
+        HttpRequest peticion = HttpRequest.newBuilder(url)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            while (System.nanoTime() - inicio < TIEMPO_MAXIMO.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue()
+                            + ", ver " + log);
+                }
+                try {
+                    HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                    if (respuesta.statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (ConnectException | HttpTimeoutException e) {
+                    // Todavía no escucha el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta 200 después de " + TIEMPO_MAXIMO.toSeconds() + " s");
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.empresa.computadores.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga contra una instancia ya levantada: N clientes concurrentes en ciclo
+ * cerrado (cada uno envía la siguiente petición al recibir la respuesta anterior).
+ * Sirve para comparar el modo de hilos de plataforma con el perfil "virtual" y con la variante
+ * reactiva (reactivo/). Si el servidor expone /actuator/metrics, también reporta el máximo de
+ * heap usado, la memoria reservada por la JVM y el pico de hilos durante la medición.
+ *
+ * Argumentos: [urlBase] [clientes] [segundos] [segundosCalentamiento]
+ */
+public class PruebaCarga {
+
+    private static final int ID_MAXIMO_SEMILLA = 10;
+
+    private final String urlBase;
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final AtomicLong errores = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    PruebaCarga(String urlBase) {
+        this.urlBase = urlBase;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String urlBase = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int calentamiento = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        PruebaCarga prueba = new PruebaCarga(urlBase);
+        System.out.printf("Calentamiento: %d clientes durante %d s%n", clientes, calentamiento);
+        prueba.ejecutar(clientes, calentamiento);
+
+        prueba.errores.set(0);
+        prueba.rechazadas.set(0);
+        System.out.printf("Medición: %d clientes durante %d s contra %s%n", clientes, segundos, urlBase);
+        Memoria memoria = prueba.new Memoria();
+        memoria.start();
+        long[] latencias = prueba.ejecutar(clientes, segundos);
+        memoria.interrupt();
+        memoria.join();
+        prueba.reportar(latencias, segundos);
+        memoria.reportar();
+    }
+
+    /**
+     * Ejecutar la carga y devolver las latencias (en microsegundos) de las respuestas 2xx
+     */
+    long[] ejecutar(int clientes, int segundos) throws InterruptedException {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        List<Registro> registros = new ArrayList<>();
+        CountDownLatch terminados = new CountDownLatch(clientes);
+
+        for (int i = 0; i < clientes; i++) {
+            Registro registro = new Registro();
+            registros.add(registro);
+            Thread hilo = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < fin) {
+                        enviar(registro);
+                    }
+                } finally {
+                    terminados.countDown();
+                }
+            }, "cliente-" + i);
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+        terminados.await();
+
+        int total = registros.stream().mapToInt(registro -> registro.cantidad).sum();
+        long[] latencias = new long[total];
+        int posicion = 0;
+        for (Registro registro : registros) {
+            System.arraycopy(registro.latencias, 0, latencias, posicion, registro.cantidad);
+            posicion += registro.cantidad;
+        }
+        Arrays.sort(latencias);
+        return latencias;
+    }
+
+    private void enviar(Registro registro) {
+        HttpRequest peticion = HttpRequest.newBuilder(siguienteUri())
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+            long micros = (System.nanoTime() - inicio) / 1_000;
+            if (respuesta.statusCode() == 503 || respuesta.statusCode() == 429) {
+                rechazadas.incrementAndGet();
+            } else if (respuesta.statusCode() >= 400) {
+                errores.incrementAndGet();
+            } else {
+                registro.agregar(micros);
+            }
+        } catch (Exception e) {
+            errores.incrementAndGet();
+        }
+    }
+
+    // Mezcla de lecturas: por ID, búsqueda por criterios y primera página del listado
+    private URI siguienteUri() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int tipo = aleatorio.nextInt(10);
+        if (tipo < 6) {
+            return URI.create(urlBase + "/api/computadores/" + (1 + aleatorio.nextInt(ID_MAXIMO_SEMILLA)));
+        } else if (tipo < 9) {
+            return URI.create(urlBase + "/api/computadores/buscar?marca=" +
+                    (aleatorio.nextBoolean() ? "Dell" : "HP") + "&precioMax=" + (800 + aleatorio.nextInt(1200)));
+        }
+        return URI.create(urlBase + "/api/computadores/pagina?tamano=20");
+    }
+
+    private void reportar(long[] latencias, int segundos) {
+        System.out.println();
+        System.out.printf("Respuestas correctas: %d%n", latencias.length);
+        System.out.printf("Rechazadas (503/429): %d%n", rechazadas.get());
+        System.out.printf("Errores:              %d%n", errores.get());
+        System.out.printf("Peticiones/s:         %.1f%n", (double) latencias.length / segundos);
+        if (latencias.length == 0) {
+            return;
+        }
+        System.out.printf("Latencia p50:         %.2f ms%n", percentil(latencias, 0.50));
+        System.out.printf("Latencia p90:         %.2f ms%n", percentil(latencias, 0.90));
+        System.out.printf("Latencia p99:         %.2f ms%n", percentil(latencias, 0.99));
+        System.out.printf("Latencia p99.9:       %.2f ms%n", percentil(latencias, 0.999));
+        System.out.printf("Latencia máxima:      %.2f ms%n", latencias[latencias.length - 1] / 1000.0);
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1000.0;
+    }
+
+    /**
+     * Muestrea cada segundo la memoria del servidor con Actuator; sin /actuator/metrics no reporta nada
+     */
+    private class Memoria extends Thread {
+        private static final Pattern VALOR = Pattern.compile("\"value\"\\s*:\\s*([0-9.E+-]+)");
+
+        private double heapMaximo = -1;
+        private double reservadaMaxima = -1;
+
+        Memoria() {
+            super("muestreo-memoria");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                heapMaximo = Math.max(heapMaximo, metrica("jvm.memory.used?tag=area:heap"));
+                reservadaMaxima = Math.max(reservadaMaxima, metrica("jvm.memory.committed"));
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void reportar() {
+            double hilos = metrica("jvm.threads.peak");
+            if (heapMaximo < 0 || reservadaMaxima < 0 || hilos < 0) {
+                return;
+            }
+            System.out.printf("Heap usado máximo:    %.1f MB%n", heapMaximo / (1024 * 1024));
+            System.out.printf("Memoria reservada:    %.1f MB (heap y no heap)%n", reservadaMaxima / (1024 * 1024));
+            System.out.printf("Hilos (pico):         %.0f%n", hilos);
+        }
+
+        // -1 si la métrica no está disponible
+        private double metrica(String nombre) {
+            HttpRequest peticion = HttpRequest.newBuilder(URI.create(urlBase + "/actuator/metrics/" + nombre))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<String> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+                Matcher valor = VALOR.matcher(respuesta.body());
+                return respuesta.statusCode() == 200 && valor.find() ? Double.parseDouble(valor.group(1)) : -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Latencias de un solo cliente; solo lo escribe su propio hilo
+     */
+    private static class Registro {
+        private long[] latencias = new long[1024];
+        private int cantidad;
+
+        void agregar(long micros) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = micros;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.service.IndiceRangos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Páginas y conteos por rango de precio y umbral de stock con IndiceRangos frente a las consultas
+ * derivadas del repositorio. Los precios sembrados van de 300 a 3300 y el stock de 0 a 39.
+ * indexarLote mide el mantenimiento: 10.000 cambios de precio y stock seguidos (como una importación)
+ * y la primera consulta posterior.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RangosBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Indice {
+
+        IndiceRangos indice;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) {
+            indice = catalogo.contexto.getBean(IndiceRangos.class);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lote {
+
+        static final int CAMBIOS = 10_000;
+
+        // Dos versiones de los mismos computadores; se alternan para que cada lote cambie los valores
+        final List<List<Computador>> versiones = new ArrayList<>();
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar(CatalogoState catalogo) {
+            for (int version = 0; version < 2; version++) {
+                List<Computador> computadores = new ArrayList<>(CAMBIOS);
+                for (int i = 0; i < CAMBIOS; i++) {
+                    Computador computador = new Computador("Marca", "Modelo-" + i, "Intel Core i5-1235U",
+                            "8GB DDR4", "512GB SSD", 300.0 + ThreadLocalRandom.current().nextInt(3000),
+                            ThreadLocalRandom.current().nextInt(40));
+                    computador.setId(catalogo.idAleatorio());
+                    computadores.add(computador);
+                }
+                versiones.add(computadores);
+            }
+        }
+
+        List<Computador> siguienteLote() {
+            return versiones.get(siguiente++ & 1);
+        }
+    }
+
+    // Rango amplio (un tercio del catálogo): todas las filas frente a la primera página
+    @Benchmark
+    public List<ComputadorResumen> precioRangoConsulta(CatalogoState estado) {
+        double desde = 300 + ThreadLocalRandom.current().nextInt(2000);
+        return estado.repositorio.findByPrecioBetween(desde, desde + 1000);
+    }
+
+    @Benchmark
+    public Map<String, Object> precioRangoPaginaIndice(CatalogoState estado) {
+        double desde = 300 + ThreadLocalRandom.current().nextInt(2000);
+        return estado.servicio.paginaPorRangoPrecio(desde, desde + 1000, null, 50);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> stockBajoConsulta(CatalogoState estado) {
+        return estado.repositorio.findByStockLessThan(5);
+    }
+
+    @Benchmark
+    public Map<String, Object> stockBajoPaginaIndice(CatalogoState estado) {
+        return estado.servicio.paginaConStockBajo(5, null, 50);
+    }
+
+    @Benchmark
+    public long stockBajoContarConsulta(CatalogoState estado) {
+        return estado.repositorio.countByStockLessThan(5);
+    }
+
+    @Benchmark
+    public int stockBajoContarIndice(Indice indice) {
+        return indice.indice.contarStock(Integer.MIN_VALUE, 4);
+    }
+
+    @Benchmark
+    public int indexarLote(Indice indice, Lote lote) {
+        for (Computador computador : lote.siguienteLote()) {
+            indice.indice.indexar(computador);
+        }
+        return indice.indice.contarStock(Integer.MIN_VALUE, 4);
+    }
+}
@@ -0,0 +1,54 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.model.Computador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas del repositorio y creación a través del servicio (incluye el índice único marca/modelo).
+ * SampleTime reporta los percentiles de latencia; con -prof gc se obtiene la tasa de asignación.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    @Benchmark
+    public List<ComputadorResumen> buscarPorCriterios(CatalogoState estado) {
+        return estado.repositorio.buscarPorCriterios(
+                CriteriosBusqueda.de("marca1", "modelo-1", null, null, 2000.0), null);
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> findByMarcaContainingIgnoreCase(CatalogoState estado) {
+        return estado.repositorio.findByMarcaContainingIgnoreCase("marca7");
+    }
+
+    @Benchmark
+    public List<Computador> findAll(CatalogoState estado) {
+        return estado.repositorio.findAll();
+    }
+
+    @Benchmark
+    public List<ComputadorResumen> findAllResumenes(CatalogoState estado) {
+        return estado.repositorio.findAllResumenes();
+    }
+
+    @Benchmark
+    public Computador crear(CatalogoState estado) {
+        return estado.servicio.crear(new Computador("Benchmark", estado.modeloNuevo(),
+                "Intel Core i5-1235U", "8GB DDR4", "512GB SSD", 999.0, 10));
+    }
+}
@@ -0,0 +1,119 @@
+package com.empresa.computadores.benchmark;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.TablaComputadores;
+import com.empresa.computadores.model.Computador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de un listado de N computadores como entidades, como ComputadorResumen y en
+ * formato columnar, sin base de datos ni HTTP. Con -prof gc, gc.alloc.rate.norm es lo que asigna
+ * cada respuesta; los bytes de cada formato se imprimen al iniciar.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    private static final String[] PROCESADORES = {
+            "Intel Core i5-1235U", "Intel Core i7-1260P", "AMD Ryzen 7 5700U", "Apple M2"
+    };
+    private static final String[] MEMORIAS = {"8GB DDR4", "16GB DDR4", "32GB DDR5"};
+    private static final String[] ALMACENAMIENTOS = {"256GB SSD", "512GB SSD", "1TB SSD"};
+
+    @Param({"10000"})
+    public int filas;
+
+    private ObjectMapper objectMapper;
+    private List<Computador> entidades;
+    private List<ComputadorResumen> resumenes;
+    private TablaComputadores tabla;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        // La misma configuración de Jackson que arma Spring Boot para los controladores
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime fecha = LocalDateTime.now();
+        entidades = new ArrayList<>(filas);
+        resumenes = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            Computador computador = new Computador("Marca" + (i % 50), "Modelo-" + i,
+                    PROCESADORES[i % PROCESADORES.length], MEMORIAS[i % MEMORIAS.length],
+                    ALMACENAMIENTOS[i % ALMACENAMIENTOS.length], 300.0 + (i * 37L % 3000), i % 40);
+            computador.setId((long) i + 1);
+            computador.setVersion(0L);
+            computador.setFechaCreacion(fecha);
+            computador.calcularEspecificaciones();
+            entidades.add(computador);
+            resumenes.add(ComputadorResumen.de(computador));
+        }
+        tabla = new TablaComputadores(resumenes);
+
+        System.out.println();
+        System.out.printf("Bytes para %d filas: entidades=%d resumenes=%d columnar=%d%n", filas,
+                escribir(entidades), escribir(resumenes), escribir(tabla));
+    }
+
+    @Benchmark
+    public long entidades() throws IOException {
+        return escribir(entidades);
+    }
+
+    @Benchmark
+    public long resumenes() throws IOException {
+        return escribir(resumenes);
+    }
+
+    @Benchmark
+    public long columnar() throws IOException {
+        return escribir(tabla);
+    }
+
+    // Se descarta la salida para que solo cuente lo que asigna la serialización
+    private long escribir(Object valor) throws IOException {
+        ContadorBytes salida = new ContadorBytes();
+        objectMapper.writeValue(salida, valor);
+        return salida.bytes;
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int desde, int cantidad) {
+            bytes += cantidad;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.empresa.computadores.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+/**
+ * Clase de una petición a la API para los límites de tasa y de admisión.
+ * Las búsquedas (índices, facetas, consultas por lote) y las escrituras son las que cargan
+ * la base de datos; las lecturas normales (por ID, páginas, estadísticas) son baratas.
+ */
+enum ClaseEndpoint {
+
+    BUSQUEDA, ESCRITURA, LECTURA;
+
+    private static final String BASE = "/api/computadores";
+
+    static ClaseEndpoint de(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        String metodo = request.getMethod();
+        if (ruta.startsWith(BASE + "/buscar") || ruta.equals(BASE + "/facetas")
+                || ruta.equals(BASE + "/lote/consulta")) {
+            return BUSQUEDA;
+        }
+        if ("GET".equals(metodo) || "HEAD".equals(metodo)) {
+            return LECTURA;
+        }
+        return ESCRITURA;
+    }
+
+    String etiqueta() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
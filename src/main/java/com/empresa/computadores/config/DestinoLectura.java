@@ -0,0 +1,72 @@
+package com.empresa.computadores.config;
+
+import jakarta.servlet.ServletRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Destino de las transacciones readOnly con el perfil "replicas". Es un valor: LecturaPropiaFilter
+ * lo decide por petición y lo guarda como atributo, y las operaciones que no toleran una réplica
+ * atrasada (cargas de la caché) piden PRIMARIA. EnrutadorDataSource solo ve el destino aplicado con
+ * aplicar() o leer() en el hilo que hace la lectura, así que una tarea que sigue en otro hilo
+ * (p. ej. un StreamingResponseBody) debe recibirlo y aplicarlo allí.
+ */
+public enum DestinoLectura {
+
+    REPLICA,
+    PRIMARIA;
+
+    static final String ATRIBUTO = DestinoLectura.class.getName();
+
+    private static final ThreadLocal<DestinoLectura> aplicado = new ThreadLocal<>();
+
+    /**
+     * Alcance de un destino aplicado; al cerrarlo vuelve el anterior
+     */
+    public interface Alcance extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Destino decidido para la petición (REPLICA si no se decidió ninguno)
+     */
+    public static DestinoLectura de(ServletRequest request) {
+        Object destino = request.getAttribute(ATRIBUTO);
+        return destino instanceof DestinoLectura decidido ? decidido : REPLICA;
+    }
+
+    /**
+     * Destino aplicado en el hilo actual (REPLICA si no hay ninguno)
+     */
+    static DestinoLectura actual() {
+        DestinoLectura destino = aplicado.get();
+        return destino == null ? REPLICA : destino;
+    }
+
+    /**
+     * Aplicar este destino a las lecturas del hilo actual hasta cerrar el alcance.
+     * PRIMARIA dentro de PRIMARIA se mantiene; REPLICA no deshace una PRIMARIA exterior.
+     */
+    public Alcance aplicar() {
+        DestinoLectura anterior = aplicado.get();
+        DestinoLectura efectivo = anterior == PRIMARIA ? PRIMARIA : this;
+        aplicado.set(efectivo);
+        return () -> {
+            if (anterior == null) {
+                aplicado.remove();
+            } else {
+                aplicado.set(anterior);
+            }
+        };
+    }
+
+    /**
+     * Ejecutar una lectura con este destino
+     */
+    public <T> T leer(Supplier<T> lectura) {
+        try (Alcance alcance = aplicar()) {
+            return lectura.get();
+        }
+    }
+}
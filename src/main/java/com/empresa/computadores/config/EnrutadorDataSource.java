@@ -0,0 +1,134 @@
+package com.empresa.computadores.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones readOnly a las réplicas (por turnos, solo las que pasan
+ * la última verificación de salud) y todo lo demás a la primaria. Debe usarse detrás de un
+ * LazyConnectionDataSourceProxy: la conexión se pide con la primera sentencia, cuando la
+ * transacción ya está marcada como readOnly. Una lectura con DestinoLectura.PRIMARIA aplicado va
+ * a la primaria.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrutadorDataSource.class);
+
+    private static final String PRIMARIA = "primaria";
+
+    private static final class Replica {
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean sana = true;
+
+        private Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger turno = new AtomicInteger();
+    private final ScheduledExecutorService verificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "replicas-salud");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final Counter lecturasPrimaria;
+    private final Counter lecturasReplica;
+
+    public EnrutadorDataSource(DataSource primaria, List<DataSource> replicas, Duration verificacion,
+                               MeterRegistry meterRegistry) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIA, primaria);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicas.get(i));
+            this.replicas.add(replica);
+            destinos.put(replica.nombre, replica.dataSource);
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+
+        this.lecturasPrimaria = Counter.builder("computadores.datasource.lecturas")
+                .tag("destino", PRIMARIA)
+                .description("Conexiones de transacciones readOnly por destino")
+                .register(meterRegistry);
+        this.lecturasReplica = Counter.builder("computadores.datasource.lecturas")
+                .tag("destino", "replica")
+                .description("Conexiones de transacciones readOnly por destino")
+                .register(meterRegistry);
+
+        verificador.scheduleWithFixedDelay(this::verificarReplicas,
+                verificacion.toMillis(), verificacion.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIA;
+        }
+        if (DestinoLectura.actual() == DestinoLectura.REPLICA) {
+            int cantidad = replicas.size();
+            int inicio = Math.floorMod(turno.getAndIncrement(), cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                Replica replica = replicas.get((inicio + i) % cantidad);
+                if (replica.sana) {
+                    lecturasReplica.increment();
+                    return replica.nombre;
+                }
+            }
+        }
+        // Destino PRIMARIA (lectura de las propias escrituras, cargas de la caché) o ninguna réplica disponible
+        lecturasPrimaria.increment();
+        return PRIMARIA;
+    }
+
+    private void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean sana;
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                sana = conexion.isValid(2);
+            } catch (SQLException e) {
+                sana = false;
+            }
+            if (sana != replica.sana) {
+                if (sana) {
+                    log.info("La réplica {} volvió a responder; se reanudan las lecturas", replica.nombre);
+                } else {
+                    log.warn("La réplica {} no responde; sus lecturas pasan a las demás réplicas o a la primaria",
+                            replica.nombre);
+                }
+                replica.sana = sana;
+            }
+        }
+    }
+
+    /**
+     * Detener la verificación de salud y cerrar los pools de las réplicas
+     */
+    public void cerrar() throws Exception {
+        verificador.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
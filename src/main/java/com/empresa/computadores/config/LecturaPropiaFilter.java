@@ -0,0 +1,74 @@
+package com.empresa.computadores.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lectura de las propias escrituras con réplicas: una petición que modifica el catálogo deja una
+ * cookie de corta duración y, mientras el cliente la envíe, sus lecturas van a la primaria en lugar
+ * de a una réplica que quizá todavía no recibió el cambio. La decisión queda en la petición
+ * (DestinoLectura.de) para que un cuerpo escrito en otro hilo la aplique allí.
+ */
+@Component
+@Profile("replicas")
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "computadores-escritura";
+
+    private static final Set<String> METODOS_ESCRITURA = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final int ventanaSegundos;
+
+    public LecturaPropiaFilter(@Value("${computadores.replicas.ventana-lectura-propia:5s}") Duration ventana) {
+        this.ventanaSegundos = (int) Math.max(ventana.toSeconds(), 1);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean escritura = METODOS_ESCRITURA.contains(request.getMethod());
+        if (escritura) {
+            // Antes de la cadena: después la respuesta ya puede estar confirmada
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setMaxAge(ventanaSegundos);
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+
+        DestinoLectura destino = escritura || tieneCookie(request) ? DestinoLectura.PRIMARIA : DestinoLectura.REPLICA;
+        request.setAttribute(DestinoLectura.ATRIBUTO, destino);
+        try (DestinoLectura.Alcance alcance = destino.aplicar()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static boolean tieneCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,158 @@
+package com.empresa.computadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Control de admisión con un límite de concurrencia adaptativo.
+ * El límite se ajusta cada "ventana" de peticiones comparando su latencia media con la latencia
+ * base (la del servicio sin carga): si la latencia sube por encima de la tolerancia el límite baja
+ * en proporción, y si no, crece de a poco. Lo que supera el límite se rechaza de inmediato con 429
+ * en lugar de encolarse. Las búsquedas y escrituras solo pueden ocupar una parte del límite, así
+ * que el resto queda para las lecturas normales.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "computadores.admision.habilitado", havingValue = "true")
+public class LimiteAdaptativoFilter extends OncePerRequestFilter {
+
+    // Respuestas largas por diseño: ocuparían el límite y falsearían la latencia medida
+    private static final Set<String> CONEXIONES_LARGAS = Set.of(
+            "/api/computadores/eventos", "/api/computadores/stream",
+            "/api/computadores/instantanea", "/api/computadores/importar");
+
+    private final double limiteMinimo;
+    private final double limiteMaximo;
+    private final double tolerancia;
+    private final double fraccionNoPrioritaria;
+    private final int ventana;
+
+    private volatile double limite;
+    private volatile long latenciaBaseNanos;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+    private final AtomicInteger muestras = new AtomicInteger();
+    private final LongAdder sumaLatenciasNanos = new LongAdder();
+    private final Map<ClaseEndpoint, Counter> rechazos = new EnumMap<>(ClaseEndpoint.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public LimiteAdaptativoFilter(
+            @Value("${computadores.admision.limite-inicial:20}") int limiteInicial,
+            @Value("${computadores.admision.limite-minimo:4}") int limiteMinimo,
+            @Value("${computadores.admision.limite-maximo:200}") int limiteMaximo,
+            @Value("${computadores.admision.tolerancia:2.0}") double tolerancia,
+            @Value("${computadores.admision.reserva-lecturas:0.25}") double reservaLecturas,
+            @Value("${computadores.admision.ventana:100}") int ventana,
+            MeterRegistry meterRegistry) {
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+        this.fraccionNoPrioritaria = 1 - reservaLecturas;
+        this.ventana = ventana;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+
+        Gauge.builder("computadores.admision.limite", this, filtro -> filtro.limite)
+                .description("Peticiones concurrentes admitidas")
+                .register(meterRegistry);
+        Gauge.builder("computadores.admision.en-curso", enCurso, AtomicInteger::get)
+                .description("Peticiones en curso sujetas al límite de admisión")
+                .register(meterRegistry);
+        Gauge.builder("computadores.admision.latencia-base", this, filtro -> filtro.latenciaBaseNanos / 1e6)
+                .description("Latencia sin carga estimada, en milisegundos")
+                .register(meterRegistry);
+        for (ClaseEndpoint clase : ClaseEndpoint.values()) {
+            rechazos.put(clase, Counter.builder("computadores.limite.rechazos")
+                    .tag("motivo", "sobrecarga")
+                    .tag("clase", clase.etiqueta())
+                    .description("Peticiones rechazadas con 429")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        return !ruta.startsWith("/api/") || "OPTIONS".equals(request.getMethod()) || CONEXIONES_LARGAS.contains(ruta);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClaseEndpoint clase = ClaseEndpoint.de(request);
+        double disponible = clase == ClaseEndpoint.LECTURA ? limite : limite * fraccionNoPrioritaria;
+        int actuales = enCurso.incrementAndGet();
+        if (actuales > Math.max(1, (int) disponible)) {
+            enCurso.decrementAndGet();
+            rechazos.get(clase).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("mensaje", "Servidor sobrecargado, intente nuevamente"));
+            return;
+        }
+
+        maximoEnCurso.accumulateAndGet(actuales, Math::max);
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            enCurso.decrementAndGet();
+            registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private void registrar(long latenciaNanos) {
+        sumaLatenciasNanos.add(latenciaNanos);
+        // Solo el hilo que completa la ventana recalcula el límite; los demás no esperan
+        if (muestras.incrementAndGet() == ventana) {
+            long promedio = sumaLatenciasNanos.sumThenReset() / ventana;
+            int usados = maximoEnCurso.getAndSet(0);
+            muestras.set(0);
+            ajustar(promedio, usados);
+        }
+    }
+
+    private void ajustar(long promedioNanos, int usados) {
+        long base = latenciaBaseNanos;
+        if (base == 0 || promedioNanos < base) {
+            base = promedioNanos;
+        } else {
+            // La base sube muy despacio para adaptarse si el servicio se vuelve más lento de forma permanente
+            base += (promedioNanos - base) / 100;
+        }
+        latenciaBaseNanos = Math.max(1, base);
+
+        double actual = limite;
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaBaseNanos / Math.max(1, promedioNanos)));
+        // Solo se crece si el límite se está usando; con poca carga la latencia no dice nada de la capacidad
+        double crecimiento = usados >= actual / 2 ? Math.sqrt(actual) : 0;
+        double nuevo = actual * gradiente + crecimiento;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, actual * 0.8 + nuevo * 0.2));
+    }
+}
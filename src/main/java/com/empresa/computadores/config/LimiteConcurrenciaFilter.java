@@ -0,0 +1,76 @@
+package com.empresa.computadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las peticiones a la API que se atienden a la vez al tamaño del pool de conexiones.
+ * Con hilos virtuales no hay un pool de hilos que frene la carga: sin este límite miles de
+ * peticiones esperarían dentro de Hikari hasta agotar su connection-timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "computadores.concurrencia-bd.habilitado", havingValue = "true")
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore permisos;
+    private final long esperaMaximaNanos;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public LimiteConcurrenciaFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanoPool,
+            @Value("${computadores.concurrencia-bd.espera-maxima:2s}") Duration esperaMaxima) {
+        this.permisos = new Semaphore(tamanoPool, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Los recursos estáticos y la consola H2 no compiten por el pool de la aplicación
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean adquirido;
+        try {
+            adquirido = permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirido = false;
+        }
+
+        if (!adquirido) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("mensaje", "Servidor ocupado, intente nuevamente"));
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permisos.release();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.empresa.computadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Límite de tasa por cliente y clase de endpoint (búsqueda, escritura, lectura).
+ * El cliente es la cabecera X-API-Key si es una de computadores.limite-tasa.claves y, si no, la
+ * dirección remota: inventar claves no da cubetas nuevas. Cada cubeta de tokens se guarda como un
+ * único instante (GCRA: el momento en que la cubeta vuelve a estar llena) que se actualiza con
+ * compareAndSet, así que no hay bloqueos; las cubetas viven en una caché Caffeine que descarta las
+ * de clientes inactivos una vez que se habrían rellenado. Si la caché llega a su tamaño máximo y
+ * descarta una cubeta que no estaba llena, su instante queda en un arreglo de respaldo indexado por
+ * hash y la cubeta que se cree después para ese cliente parte de él, no de un presupuesto completo.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "computadores.limite-tasa.habilitado", havingValue = "true")
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+    static final String CABECERA_CLAVE = "X-API-Key";
+
+    // Posiciones del arreglo de respaldo de cada clase (potencia de dos)
+    private static final int TAMANO_RESPALDO = 16_384;
+
+    /**
+     * Presupuesto de una clase: un token cada "intervalo", hasta "tolerancia" de adelanto (la ráfaga).
+     * "respaldo" guarda el instante de las cubetas descartadas por tamaño; varios clientes pueden
+     * compartir posición y se queda el mayor, así que una colisión solo puede restar presupuesto.
+     */
+    private record Presupuesto(long intervaloNanos, long toleranciaNanos, Cache<String, AtomicLong> cubetas,
+                               AtomicLongArray respaldo, Counter rechazos) {
+    }
+
+    private final Map<ClaseEndpoint, Presupuesto> presupuestos = new EnumMap<>(ClaseEndpoint.class);
+    private final Set<String> clavesConocidas;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public LimiteTasaFilter(Environment environment, MeterRegistry meterRegistry) {
+        long clientesMaximo = environment.getProperty("computadores.limite-tasa.clientes-maximo", Long.class, 100_000L);
+        this.clavesConocidas = Arrays.stream(environment.getProperty("computadores.limite-tasa.claves", String[].class,
+                        new String[0]))
+                .map(String::trim)
+                .filter(clave -> !clave.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        for (ClaseEndpoint clase : ClaseEndpoint.values()) {
+            String prefijo = "computadores.limite-tasa." + clase.etiqueta();
+            double porSegundo = environment.getProperty(prefijo + ".por-segundo", Double.class, 0.0);
+            if (porSegundo <= 0) {
+                // Sin presupuesto configurado la clase no se limita
+                continue;
+            }
+            int rafaga = Math.max(1, environment.getProperty(prefijo + ".rafaga", Integer.class, 1));
+            long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+            long tolerancia = intervalo * (rafaga - 1);
+            AtomicLongArray respaldo = new AtomicLongArray(TAMANO_RESPALDO);
+            // Pasado este tiempo sin peticiones la cubeta está llena: descartarla equivale a conservarla.
+            // Una cubeta descartada por tamaño puede no estar llena: su instante pasa al respaldo
+            Cache<String, AtomicLong> cubetas = Caffeine.newBuilder()
+                    .maximumSize(clientesMaximo)
+                    .expireAfterAccess(Duration.ofNanos(tolerancia + intervalo))
+                    .evictionListener((String cliente, AtomicLong cubeta, RemovalCause causa) -> {
+                        if (causa == RemovalCause.SIZE && cubeta != null) {
+                            respaldo.accumulateAndGet(posicionRespaldo(cliente), cubeta.get(), Math::max);
+                        }
+                    })
+                    .build();
+            Counter rechazos = Counter.builder("computadores.limite.rechazos")
+                    .tag("motivo", "tasa")
+                    .tag("clase", clase.etiqueta())
+                    .description("Peticiones rechazadas con 429")
+                    .register(meterRegistry);
+            presupuestos.put(clase, new Presupuesto(intervalo, tolerancia, cubetas, respaldo, rechazos));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Las verificaciones CORS previas no cuentan contra el presupuesto del cliente
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClaseEndpoint clase = ClaseEndpoint.de(request);
+        Presupuesto presupuesto = presupuestos.get(clase);
+        if (presupuesto == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long ahora = System.nanoTime();
+        AtomicLong cubeta = presupuesto.cubetas().get(cliente(request), cliente ->
+                new AtomicLong(Math.max(ahora, presupuesto.respaldo().get(posicionRespaldo(cliente)))));
+        long esperaNanos = consumir(cubeta, presupuesto, ahora);
+        if (esperaNanos > 0) {
+            presupuesto.rechazos().increment();
+            long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString(segundos));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("mensaje", "Demasiadas peticiones de " + clase.etiqueta() + ", intente nuevamente"));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Tomar un token de la cubeta. Devuelve 0 si se concedió, o los nanosegundos que faltan
+     * para que haya uno disponible.
+     */
+    private long consumir(AtomicLong cubeta, Presupuesto presupuesto, long ahora) {
+        while (true) {
+            long llena = cubeta.get();
+            long desde = Math.max(llena, ahora);
+            long espera = desde - presupuesto.toleranciaNanos() - ahora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cubeta.compareAndSet(llena, desde + presupuesto.intervaloNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    // Una clave desconocida cuenta como la dirección remota, igual que no enviar ninguna
+    private String cliente(HttpServletRequest request) {
+        String clave = request.getHeader(CABECERA_CLAVE);
+        if (clave != null && clavesConocidas.contains(clave)) {
+            return "clave:" + clave;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static int posicionRespaldo(String cliente) {
+        int hash = cliente.hashCode();
+        return (hash ^ (hash >>> 16)) & (TAMANO_RESPALDO - 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.empresa.computadores.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perfil "replicas": las escrituras van a spring.datasource (primaria) y las transacciones
+ * readOnly a las réplicas de computadores.replicas.urls. Flyway migra solo la primaria.
+ */
+@Configuration
+@Profile("replicas")
+public class ReplicasConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaria(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    public EnrutadorDataSource enrutadorDataSource(
+            HikariDataSource primaria,
+            @Value("${computadores.replicas.urls}") List<String> urls,
+            @Value("${computadores.replicas.username:${spring.datasource.username}}") String usuario,
+            @Value("${computadores.replicas.password:${spring.datasource.password}}") String clave,
+            @Value("${computadores.replicas.verificacion:5s}") Duration verificacion,
+            @Value("${computadores.replicas.migraciones:}") String migraciones,
+            MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(usuario)
+                    .password(clave)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            if (primaria.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(primaria.getMaximumPoolSize());
+            }
+            if (!migraciones.isBlank()) {
+                // Solo para probar en local con una H2 en memoria como réplica: no hay replicación real
+                Flyway.configure().dataSource(replica).locations(migraciones.split(",")).load().migrate();
+            }
+            replicas.add(replica);
+        }
+        return new EnrutadorDataSource(primaria, replicas, verificacion, meterRegistry);
+    }
+
+    /**
+     * DataSource de JPA y JdbcTemplate: la conexión real se elige con la primera sentencia
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(EnrutadorDataSource enrutadorDataSource) {
+        return new LazyConnectionDataSourceProxy(enrutadorDataSource);
+    }
+}
@@ -1,44 +1,125 @@
 package com.empresa.computadores.controller;
 
+import com.empresa.computadores.config.DestinoLectura;
+import com.empresa.computadores.dto.CambioStock;
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.dto.TablaComputadores;
 import com.empresa.computadores.model.Computador;
 import com.empresa.computadores.service.ComputadorService;
+import com.empresa.computadores.service.EscrituraDiferidaStock;
+import com.empresa.computadores.service.EstadisticasService;
+import com.empresa.computadores.service.FeedCambios;
+import com.empresa.computadores.service.ImportacionService;
+import com.empresa.computadores.service.InstantaneaCatalogo;
+import com.empresa.computadores.service.VersionCatalogo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/computadores")
 @CrossOrigin(origins = "*")
 public class ComputadorController {
     
+    // El navegador puede guardar la respuesta, pero debe revalidarla (If-None-Match) antes de usarla
+    private static final CacheControl REVALIDAR = CacheControl.noCache();
+    
     @Autowired
     private ComputadorService computadorService;
     
+    @Autowired
+    private ImportacionService importacionService;
+    
+    @Autowired
+    private InstantaneaCatalogo instantaneaCatalogo;
+    
+    @Autowired
+    private EstadisticasService estadisticasService;
+    
+    @Autowired
+    private FeedCambios feedCambios;
+    
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+    
+    @Autowired
+    private EscrituraDiferidaStock escrituraDiferida;
+    
     /**
      * GET /api/computadores - Obtener todos los computadores
      */
     @GetMapping
-    public ResponseEntity<List<Computador>> obtenerTodos() {
-        List<Computador> computadores = computadorService.obtenerTodos();
-        return ResponseEntity.ok(computadores);
+    public ResponseEntity<?> obtenerTodos(@RequestParam(required = false) String formato, WebRequest request) {
+        return segunVersion(request, () -> listado(computadorService.obtenerTodos(), formato));
+    }
+    
+    /**
+     * GET /api/computadores/pagina - Obtener una página de computadores (paginación por cursor)
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        try {
+            return segunVersion(request, () -> computadorService.obtenerPagina(cursor, tamano));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * GET /api/computadores/stream - Obtener todos los computadores como NDJSON en streaming
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> obtenerTodosEnStream(HttpServletRequest request) {
+        // El cuerpo se escribe en otro hilo: se lleva el destino de lectura decidido para la petición
+        DestinoLectura destino = DestinoLectura.de(request);
+        StreamingResponseBody cuerpo = salida -> {
+            try (DestinoLectura.Alcance alcance = destino.aplicar()) {
+                computadorService.escribirNdjson(salida);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(cuerpo);
     }
     
     /**
      * GET /api/computadores/{id} - Obtener computador por ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> obtenerPorId(@PathVariable Long id) {
+    public ResponseEntity<?> obtenerPorId(@PathVariable Long id, WebRequest request) {
         Optional<Computador> computador = computadorService.obtenerPorId(id);
         
         if (computador.isPresent()) {
-            return ResponseEntity.ok(computador.get());
+            // ETag por versión de la entidad: los cambios en otros computadores no la invalidan
+            return conEtag(request, versionCatalogo.etag(computador.get()), computador::get);
         } else {
             Map<String, String> error = new HashMap<>();
             error.put("mensaje", "Computador no encontrado con ID: " + id);
@@ -61,6 +142,61 @@ public class ComputadorController {
         }
     }
     
+    /**
+     * POST /api/computadores/importar - Importación masiva desde CSV o NDJSON
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importar(@RequestHeader("Content-Type") String contentType, InputStream cuerpo) {
+        ImportacionService.Formato formato = contentType.startsWith("text/csv")
+                ? ImportacionService.Formato.CSV
+                : ImportacionService.Formato.NDJSON;
+        try {
+            return ResponseEntity.ok(importacionService.importar(cuerpo, formato));
+        } catch (IOException | RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * GET /api/computadores/instantanea - Descargar una instantánea binaria del catálogo completo
+     */
+    @GetMapping("/instantanea")
+    public ResponseEntity<?> exportarInstantanea() {
+        long largo;
+        InputStream cuerpo;
+        try {
+            Path archivo = instantaneaCatalogo.exportar();
+            largo = Files.size(archivo);
+            // El archivo temporal se borra al cerrar el stream, cuando termina la respuesta
+            cuerpo = Files.newInputStream(archivo, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", "No se pudo exportar el catálogo: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(largo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalogo.cmps\"")
+                .body(new InputStreamResource(cuerpo));
+    }
+    
+    /**
+     * POST /api/computadores/instantanea - Reemplazar el catálogo con una instantánea binaria
+     */
+    @PostMapping(value = "/instantanea", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> importarInstantanea(InputStream cuerpo) {
+        try {
+            return ResponseEntity.ok(instantaneaCatalogo.importar(cuerpo));
+        } catch (IOException | RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
     /**
      * PUT /api/computadores/{id} - Actualizar computador existente
      */
@@ -69,6 +205,10 @@ public class ComputadorController {
         try {
             Computador computadorActualizado = computadorService.actualizar(id, computador);
             return ResponseEntity.ok(computadorActualizado);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", "El computador fue modificado por otro usuario, recargue e intente de nuevo");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("mensaje", e.getMessage());
@@ -97,55 +237,156 @@ public class ComputadorController {
      * GET /api/computadores/buscar/marca/{marca} - Buscar por marca
      */
     @GetMapping("/buscar/marca/{marca}")
-    public ResponseEntity<List<Computador>> buscarPorMarca(@PathVariable String marca) {
-        List<Computador> computadores = computadorService.buscarPorMarca(marca);
-        return ResponseEntity.ok(computadores);
+    public ResponseEntity<?> buscarPorMarca(@PathVariable String marca,
+                                            @RequestParam(required = false) String formato,
+                                            WebRequest request) {
+        return segunVersion(request, () -> listado(computadorService.buscarPorMarca(marca), formato));
     }
     
     /**
      * GET /api/computadores/buscar/modelo/{modelo} - Buscar por modelo
      */
     @GetMapping("/buscar/modelo/{modelo}")
-    public ResponseEntity<List<Computador>> buscarPorModelo(@PathVariable String modelo) {
-        List<Computador> computadores = computadorService.buscarPorModelo(modelo);
-        return ResponseEntity.ok(computadores);
+    public ResponseEntity<?> buscarPorModelo(@PathVariable String modelo,
+                                             @RequestParam(required = false) String formato,
+                                            WebRequest request) {
+        return segunVersion(request, () -> listado(computadorService.buscarPorModelo(modelo), formato));
     }
     
     /**
-     * GET /api/computadores/buscar/precio - Buscar por rango de precio
+     * GET /api/computadores/buscar/precio - Buscar por rango de precio (con cursor o tamano,
+     * una página ordenada por precio)
      */
     @GetMapping("/buscar/precio")
-    public ResponseEntity<List<Computador>> buscarPorRangoPrecio(
+    public ResponseEntity<?> buscarPorRangoPrecio(
             @RequestParam Double precioMin, 
-            @RequestParam Double precioMax) {
-        List<Computador> computadores = computadorService.buscarPorRangoPrecio(precioMin, precioMax);
-        return ResponseEntity.ok(computadores);
+            @RequestParam Double precioMax,
+            @RequestParam(required = false) String formato,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        try {
+            return segunVersion(request, () -> cursor == null && tamano == null
+                    ? listado(computadorService.buscarPorRangoPrecio(precioMin, precioMax), formato)
+                    : computadorService.paginaPorRangoPrecio(precioMin, precioMax, cursor, tamano));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
     
     /**
-     * GET /api/computadores/buscar/stock - Buscar con stock disponible
+     * GET /api/computadores/buscar/stock - Buscar con stock disponible (con cursor o tamano,
+     * una página ordenada por stock)
      */
     @GetMapping("/buscar/stock")
-    public ResponseEntity<List<Computador>> buscarConStockDisponible(
-            @RequestParam(defaultValue = "0") Integer stockMinimo) {
-        List<Computador> computadores = computadorService.buscarConStockDisponible(stockMinimo);
-        return ResponseEntity.ok(computadores);
+    public ResponseEntity<?> buscarConStockDisponible(
+            @RequestParam(defaultValue = "0") Integer stockMinimo,
+            @RequestParam(required = false) String formato,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        try {
+            return segunVersion(request, () -> cursor == null && tamano == null
+                    ? listado(computadorService.buscarConStockDisponible(stockMinimo), formato)
+                    : computadorService.paginaConStockDisponible(stockMinimo, cursor, tamano));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
     
     /**
      * GET /api/computadores/buscar - Búsqueda avanzada con múltiples criterios
+     * (RAM y almacenamiento en GB; ramTipo p. ej. DDR4, almacenamientoTipo p. ej. SSD)
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Computador>> buscarPorCriterios(
+    public ResponseEntity<?> buscarPorCriterios(
             @RequestParam(required = false) String marca,
             @RequestParam(required = false) String modelo,
             @RequestParam(required = false) String procesador,
             @RequestParam(required = false) Double precioMin,
-            @RequestParam(required = false) Double precioMax) {
+            @RequestParam(required = false) Double precioMax,
+            @RequestParam(required = false) Integer ramMin,
+            @RequestParam(required = false) Integer ramMax,
+            @RequestParam(required = false) String ramTipo,
+            @RequestParam(required = false) Integer almacenamientoMin,
+            @RequestParam(required = false) Integer almacenamientoMax,
+            @RequestParam(required = false) String almacenamientoTipo,
+            @RequestParam(required = false) String formato,
+            WebRequest request) {
         
-        List<Computador> computadores = computadorService.buscarPorCriterios(
-                marca, modelo, procesador, precioMin, precioMax);
-        return ResponseEntity.ok(computadores);
+        CriteriosBusqueda criterios = new CriteriosBusqueda(
+                marca, modelo, procesador, precioMin, precioMax,
+                ramMin, ramMax, ramTipo, almacenamientoMin, almacenamientoMax, almacenamientoTipo);
+        return segunVersion(request, () -> listado(computadorService.buscarPorCriterios(criterios), formato));
+    }
+    
+    /**
+     * GET /api/computadores/facetas - Búsqueda por facetas: página de resultados y conteos por
+     * marca, familia de procesador y rango de precio
+     */
+    @GetMapping("/facetas")
+    public ResponseEntity<?> buscarConFacetas(
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) String familiaProcesador,
+            @RequestParam(required = false) String rangoPrecio,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        try {
+            return segunVersion(request, () -> computadorService.buscarConFacetas(
+                    marca, familiaProcesador, rangoPrecio, cursor, tamano));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * POST /api/computadores/lote/consulta - Obtener varios computadores por ID (cuerpo: [1, 2, ...])
+     */
+    @PostMapping("/lote/consulta")
+    public ResponseEntity<?> obtenerLote(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(computadorService.obtenerPorIds(ids));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * PUT /api/computadores/lote/stock - Fijar o ajustar el stock de varios computadores
+     * (cuerpo: [{"id": 1, "stock": 10}, {"id": 2, "delta": -3}, ...])
+     */
+    @PutMapping("/lote/stock")
+    public ResponseEntity<?> actualizarStockLote(@RequestBody List<CambioStock> cambios) {
+        try {
+            return ResponseEntity.ok(computadorService.actualizarStockLote(cambios));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * POST /api/computadores/lote/eliminar - Eliminar varios computadores (cuerpo: [1, 2, ...])
+     */
+    @PostMapping("/lote/eliminar")
+    public ResponseEntity<?> eliminarLote(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(computadorService.eliminarLote(ids));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
     
     /**
@@ -154,7 +395,9 @@ public class ComputadorController {
     @PutMapping("/{id}/stock")
     public ResponseEntity<?> actualizarStock(@PathVariable Long id, @RequestParam Integer stock) {
         try {
-            Computador computador = computadorService.actualizarStock(id, stock);
+            Computador computador = escrituraDiferida.habilitada()
+                    ? computadorService.actualizarStockDiferido(id, stock)
+                    : computadorService.actualizarStock(id, stock);
             return ResponseEntity.ok(computador);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -164,22 +407,95 @@ public class ComputadorController {
     }
     
     /**
-     * GET /api/computadores/estadisticas - Obtener estadísticas básicas
+     * GET /api/computadores/estadisticas - Obtener estadísticas del catálogo (conteos,
+     * valor del inventario, precios por marca e histogramas de RAM y almacenamiento)
      */
     @GetMapping("/estadisticas")
-    public ResponseEntity<Map<String, Object>> obtenerEstadisticas() {
-        Map<String, Object> estadisticas = new HashMap<>();
-        estadisticas.put("totalComputadores", computadorService.contarTotal());
-        estadisticas.put("computadoresConStockBajo", computadorService.obtenerConStockBajo().size());
-        return ResponseEntity.ok(estadisticas);
+    public ResponseEntity<?> obtenerEstadisticas(WebRequest request) {
+        return segunVersion(request, estadisticasService::obtenerEstadisticas);
     }
     
     /**
-     * GET /api/computadores/stock-bajo - Obtener computadores con stock bajo
+     * GET /api/computadores/cache/estadisticas - Obtener aciertos, fallos y expulsiones de la caché
+     */
+    @GetMapping("/cache/estadisticas")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticasCache() {
+        return ResponseEntity.ok(computadorService.obtenerEstadisticasCache());
+    }
+    
+    /**
+     * GET /api/computadores/eventos - Suscribirse al feed de cambios del catálogo (Server-Sent Events).
+     * Con el encabezado Last-Event-ID se reenvían los eventos perdidos durante la reconexión
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Void> suscribirEventos(
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            feedCambios.suscribir(request, response, ultimoEventoId);
+            // La respuesta quedó en modo asíncrono y la escribe FeedCambios
+            return null;
+        } catch (RuntimeException e) {
+            // El cuerpo de un text/event-stream no puede llevar el mensaje JSON habitual
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+    
+    /**
+     * GET /api/computadores/stock-bajo - Obtener computadores con stock menor que umbral
+     * (por defecto computadores.stock.umbral-bajo); con cursor o tamano, una página ordenada por stock
      */
     @GetMapping("/stock-bajo")
-    public ResponseEntity<List<Computador>> obtenerConStockBajo() {
-        List<Computador> computadores = computadorService.obtenerConStockBajo();
-        return ResponseEntity.ok(computadores);
+    public ResponseEntity<?> obtenerConStockBajo(@RequestParam(required = false) Integer umbral,
+                                                 @RequestParam(required = false) String formato,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer tamano,
+                                                 WebRequest request) {
+        try {
+            return segunVersion(request, () -> cursor == null && tamano == null
+                    ? listado(computadorService.obtenerConStockBajo(umbral), formato)
+                    : computadorService.paginaConStockBajo(umbral, cursor, tamano));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    /**
+     * Responder con la ETag de la versión actual del catálogo, leída antes de calcular el cuerpo.
+     * Justo después de un cambio el cuerpo se lee de la primaria: una réplica atrasada lo calcularía
+     * sin ese cambio y el cliente lo conservaría con una ETag que ya lo incluye.
+     */
+    private ResponseEntity<?> segunVersion(WebRequest request, Supplier<?> cuerpo) {
+        String etag = versionCatalogo.etag();
+        if (versionCatalogo.cambioReciente()) {
+            return conEtag(request, etag, () -> DestinoLectura.PRIMARIA.leer(cuerpo));
+        }
+        return conEtag(request, etag, cuerpo);
+    }
+    
+    /**
+     * Responder 304 sin calcular el cuerpo (ni consultar la base de datos) si el cliente ya tiene
+     * la ETag en If-None-Match; si no, responder el cuerpo con esa ETag
+     */
+    private ResponseEntity<?> conEtag(WebRequest request, String etag, Supplier<?> cuerpo) {
+        if (request.checkNotModified(etag)) {
+            // checkNotModified ya escribió el estado 304 y la ETag
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(cuerpo.get());
+    }
+    
+    /**
+     * Representar un listado como arreglo de objetos o, con formato=columnar, como tabla compacta
+     */
+    private Object listado(List<ComputadorResumen> computadores, String formato) {
+        if ("columnar".equalsIgnoreCase(formato)) {
+            return new TablaComputadores(computadores);
+        }
+        return computadores;
     }
 }
@@ -0,0 +1,93 @@
+package com.empresa.computadores.controller;
+
+import com.empresa.computadores.service.HistorialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/historial")
+@CrossOrigin(origins = "*")
+public class HistorialController {
+
+    @Autowired
+    private HistorialService historialService;
+
+    /**
+     * GET /api/historial/{id} - Últimos cambios de precio y stock de un computador
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> obtenerEventos(@PathVariable Long id,
+                                            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(historialService.obtenerEventos(id, limite));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * GET /api/historial/{id}/tendencia-precio - Tendencia de precio en los últimos "dias" días
+     */
+    @GetMapping("/{id}/tendencia-precio")
+    public ResponseEntity<?> obtenerTendenciaPrecio(@PathVariable Long id,
+                                                    @RequestParam(required = false) Integer dias) {
+        try {
+            Optional<Map<String, Object>> resultado = historialService.obtenerTendenciaPrecio(id, dias);
+            if (resultado.isPresent()) {
+                return ResponseEntity.ok(resultado.get());
+            }
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", "Computador no encontrado con ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * GET /api/historial/{id}/velocidad-stock - Unidades que salieron y entraron, salida diaria y
+     * días de inventario en los últimos "dias" días
+     */
+    @GetMapping("/{id}/velocidad-stock")
+    public ResponseEntity<?> obtenerVelocidadStock(@PathVariable Long id,
+                                                   @RequestParam(required = false) Integer dias) {
+        try {
+            Optional<Map<String, Object>> resultado = historialService.obtenerVelocidadStock(id, dias);
+            if (resultado.isPresent()) {
+                return ResponseEntity.ok(resultado.get());
+            }
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", "Computador no encontrado con ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * GET /api/historial/stock-bajo - Días de inventario de los computadores con stock menor que umbral
+     */
+    @GetMapping("/stock-bajo")
+    public ResponseEntity<?> obtenerCoberturaStockBajo(@RequestParam(required = false) Integer umbral,
+                                                       @RequestParam(required = false) Integer dias) {
+        try {
+            return ResponseEntity.ok(historialService.obtenerCoberturaStockBajo(umbral, dias));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+}
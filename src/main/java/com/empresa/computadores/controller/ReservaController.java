@@ -0,0 +1,80 @@
+package com.empresa.computadores.controller;
+
+import com.empresa.computadores.model.Reserva;
+import com.empresa.computadores.service.ReservaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/reservas")
+@CrossOrigin(origins = "*")
+public class ReservaController {
+
+    @Autowired
+    private ReservaService reservaService;
+
+    /**
+     * GET /api/reservas/{id} - Obtener reserva por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> obtenerPorId(@PathVariable Long id) {
+        Optional<Reserva> reserva = reservaService.obtenerPorId(id);
+
+        if (reserva.isPresent()) {
+            return ResponseEntity.ok(reserva.get());
+        } else {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", "Reserva no encontrada con ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+    /**
+     * POST /api/reservas - Reservar unidades de un computador
+     */
+    @PostMapping
+    public ResponseEntity<?> reservar(@RequestParam Long computadorId, @RequestParam Integer cantidad) {
+        try {
+            Reserva reserva = reservaService.reservar(computadorId, cantidad);
+            return ResponseEntity.status(HttpStatus.CREATED).body(reserva);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * POST /api/reservas/{id}/confirmar - Confirmar una reserva pendiente
+     */
+    @PostMapping("/{id}/confirmar")
+    public ResponseEntity<?> confirmar(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(reservaService.confirmar(id));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * POST /api/reservas/{id}/liberar - Liberar una reserva pendiente y devolver el stock
+     */
+    @PostMapping("/{id}/liberar")
+    public ResponseEntity<?> liberar(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(reservaService.liberar(id));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.empresa.computadores.dto;
+
+/**
+ * Cambio de stock de un computador dentro de un lote: "stock" fija el valor y "delta" suma
+ * (o resta, si es negativo) a las unidades actuales. Se indica uno de los dos.
+ */
+public record CambioStock(Long id, Integer stock, Integer delta) {
+}
@@ -0,0 +1,14 @@
+package com.empresa.computadores.dto;
+
+/**
+ * Días de inventario de un computador con stock bajo: stock actual dividido por las unidades
+ * que salen por día en la ventana. diasInventario es null si no salió ninguna unidad.
+ */
+public record CoberturaStock(
+        Long id,
+        String marca,
+        String modelo,
+        Integer stock,
+        Double salidaDiaria,
+        Double diasInventario) {
+}
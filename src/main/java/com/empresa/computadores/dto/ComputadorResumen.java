@@ -0,0 +1,42 @@
+package com.empresa.computadores.dto;
+
+import com.empresa.computadores.model.Computador;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un computador para los listados y búsquedas.
+ * Se construye directamente en la consulta, sin entidades administradas por JPA.
+ */
+public record ComputadorResumen(
+        Long id,
+        String marca,
+        String modelo,
+        String procesador,
+        String memoriaRam,
+        String almacenamiento,
+        Double precio,
+        Integer stock,
+        LocalDateTime fechaCreacion) {
+
+    /**
+     * Copia con otro valor de stock
+     */
+    public ComputadorResumen conStock(Integer nuevoStock) {
+        return new ComputadorResumen(id, marca, modelo, procesador, memoriaRam, almacenamiento,
+                precio, nuevoStock, fechaCreacion);
+    }
+
+    public static ComputadorResumen de(Computador computador) {
+        return new ComputadorResumen(
+                computador.getId(),
+                computador.getMarca(),
+                computador.getModelo(),
+                computador.getProcesador(),
+                computador.getMemoriaRam(),
+                computador.getAlmacenamiento(),
+                computador.getPrecio(),
+                computador.getStock(),
+                computador.getFechaCreacion());
+    }
+}
@@ -0,0 +1,12 @@
+package com.empresa.computadores.dto;
+
+/**
+ * Proyección de un histograma: cantidad de computadores por capacidad en GB (null si el texto
+ * de la especificación no se pudo interpretar)
+ */
+public interface ConteoPorCapacidad {
+
+    Integer getGb();
+
+    Long getCantidad();
+}
@@ -0,0 +1,81 @@
+package com.empresa.computadores.dto;
+
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.model.Especificaciones;
+
+import java.util.Locale;
+
+/**
+ * Criterios de una búsqueda de computadores, normalizados para servir también como clave de caché.
+ * Los textos se comparan como "contiene" sin distinguir mayúsculas; las capacidades están en GB.
+ * Un criterio null no filtra.
+ */
+public record CriteriosBusqueda(
+        String marca,
+        String modelo,
+        String procesador,
+        Double precioMin,
+        Double precioMax,
+        Integer ramMinGb,
+        Integer ramMaxGb,
+        String ramTipo,
+        Integer almacenamientoMinGb,
+        Integer almacenamientoMaxGb,
+        String almacenamientoTipo) {
+
+    public CriteriosBusqueda {
+        marca = normalizar(marca);
+        modelo = normalizar(modelo);
+        procesador = normalizar(procesador);
+        ramTipo = normalizarTipo(ramTipo);
+        almacenamientoTipo = normalizarTipo(almacenamientoTipo);
+    }
+
+    /**
+     * Criterios de texto y precio, sin especificaciones
+     */
+    public static CriteriosBusqueda de(String marca, String modelo, String procesador,
+                                       Double precioMin, Double precioMax) {
+        return new CriteriosBusqueda(marca, modelo, procesador, precioMin, precioMax,
+                null, null, null, null, null, null);
+    }
+
+    /**
+     * Indica si el computador cumple los criterios (y por lo tanto aparece en el resultado)
+     */
+    public boolean coincide(Computador computador) {
+        Especificaciones especificaciones = computador.getEspecificaciones() != null
+                ? computador.getEspecificaciones() : new Especificaciones();
+        return contiene(computador.getMarca(), marca)
+                && contiene(computador.getModelo(), modelo)
+                && contiene(computador.getProcesador(), procesador)
+                && enRango(computador.getPrecio(), precioMin, precioMax)
+                && enRango(especificaciones.getRamGb(), ramMinGb, ramMaxGb)
+                && (ramTipo == null || ramTipo.equals(especificaciones.getRamTipo()))
+                && enRango(especificaciones.getAlmacenamientoGb(), almacenamientoMinGb, almacenamientoMaxGb)
+                && (almacenamientoTipo == null || almacenamientoTipo.equals(especificaciones.getAlmacenamientoTipo()));
+    }
+
+    private static boolean contiene(String valor, String termino) {
+        return termino == null || valor.toLowerCase(Locale.ROOT).contains(termino);
+    }
+
+    private static <T extends Comparable<T>> boolean enRango(T valor, T minimo, T maximo) {
+        if (minimo == null && maximo == null) {
+            return true;
+        }
+        return valor != null
+                && (minimo == null || valor.compareTo(minimo) >= 0)
+                && (maximo == null || valor.compareTo(maximo) <= 0);
+    }
+
+    // Las búsquedas ignoran mayúsculas, y un término vacío equivale a no filtrar
+    private static String normalizar(String termino) {
+        return termino == null || termino.isEmpty() ? null : termino.toLowerCase(Locale.ROOT);
+    }
+
+    // Los tipos se guardan en mayúsculas (DDR4, SSD)
+    private static String normalizarTipo(String tipo) {
+        return tipo == null || tipo.isBlank() ? null : tipo.trim().toUpperCase(Locale.ROOT);
+    }
+}
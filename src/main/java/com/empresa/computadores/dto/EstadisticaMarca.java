@@ -0,0 +1,19 @@
+package com.empresa.computadores.dto;
+
+/**
+ * Proyección con los agregados de precio e inventario de una marca
+ */
+public interface EstadisticaMarca {
+
+    String getMarca();
+
+    Long getCantidad();
+
+    Double getPrecioMinimo();
+
+    Double getPrecioMaximo();
+
+    Double getPrecioPromedio();
+
+    Long getUnidades();
+}
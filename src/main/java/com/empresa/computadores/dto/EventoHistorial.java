@@ -0,0 +1,12 @@
+package com.empresa.computadores.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una fila del historial: precio y stock de un computador después de un cambio confirmado
+ */
+public record EventoHistorial(
+        LocalDateTime fecha,
+        Double precio,
+        Integer stock) {
+}
@@ -0,0 +1,19 @@
+package com.empresa.computadores.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de un día del historial de un computador: precio de apertura, cierre, mínimo y máximo,
+ * stock al cierre y unidades que salieron y entraron
+ */
+public record ResumenDiario(
+        LocalDate dia,
+        Double precioApertura,
+        Double precioCierre,
+        Double precioMinimo,
+        Double precioMaximo,
+        Integer stockCierre,
+        Integer unidadesSalida,
+        Integer unidadesEntrada,
+        Integer cambios) {
+}
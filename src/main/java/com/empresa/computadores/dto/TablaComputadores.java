@@ -0,0 +1,115 @@
+package com.empresa.computadores.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Respuesta columnar de un listado: los nombres de columna se envían una sola vez
+ * y cada computador es un arreglo de valores en ese orden.
+ */
+@JsonSerialize(using = TablaComputadores.Serializador.class)
+public record TablaComputadores(List<ComputadorResumen> filas) {
+
+    static final String[] COLUMNAS = {
+            "id", "marca", "modelo", "procesador", "memoriaRam",
+            "almacenamiento", "precio", "stock", "fechaCreacion"
+    };
+
+    // +999999999-12-31T23:59:59.999999999 (los años fuera de 0000-9999 llevan signo)
+    private static final int LARGO_MAXIMO_FECHA = 35;
+
+    /**
+     * Escribir la fecha como ISO_LOCAL_DATE_TIME en el arreglo y devolver cuántos caracteres ocupa.
+     * Formatear con DateTimeFormatter era casi todo lo que se asignaba por fila.
+     */
+    static int escribirFecha(LocalDateTime fecha, char[] destino) {
+        int anio = fecha.getYear();
+        if (anio < 0 || anio > 9999) {
+            String texto = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(fecha);
+            texto.getChars(0, texto.length(), destino, 0);
+            return texto.length();
+        }
+        int posicion = digitos(anio, 4, destino, 0);
+        destino[posicion++] = '-';
+        posicion = digitos(fecha.getMonthValue(), 2, destino, posicion);
+        destino[posicion++] = '-';
+        posicion = digitos(fecha.getDayOfMonth(), 2, destino, posicion);
+        destino[posicion++] = 'T';
+        posicion = digitos(fecha.getHour(), 2, destino, posicion);
+        destino[posicion++] = ':';
+        posicion = digitos(fecha.getMinute(), 2, destino, posicion);
+        destino[posicion++] = ':';
+        posicion = digitos(fecha.getSecond(), 2, destino, posicion);
+
+        // Como ISO_LOCAL_DATE_TIME: la fracción solo si no es cero y sin ceros a la derecha
+        int nanos = fecha.getNano();
+        if (nanos > 0) {
+            int cifras = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                cifras--;
+            }
+            destino[posicion++] = '.';
+            posicion = digitos(nanos, cifras, destino, posicion);
+        }
+        return posicion;
+    }
+
+    private static int digitos(int valor, int cifras, char[] destino, int posicion) {
+        for (int i = posicion + cifras - 1; i >= posicion; i--) {
+            destino[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return posicion + cifras;
+    }
+
+    /**
+     * Escribe la tabla directamente con el JsonGenerator, sin introspección por reflexión
+     */
+    public static class Serializador extends StdSerializer<TablaComputadores> {
+
+        public Serializador() {
+            super(TablaComputadores.class);
+        }
+
+        @Override
+        public void serialize(TablaComputadores tabla, JsonGenerator json, SerializerProvider proveedor)
+                throws IOException {
+            json.writeStartObject();
+            json.writeArrayFieldStart("columnas");
+            for (String columna : COLUMNAS) {
+                json.writeString(columna);
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("filas");
+            char[] fecha = new char[LARGO_MAXIMO_FECHA];
+            for (ComputadorResumen c : tabla.filas()) {
+                json.writeStartArray();
+                json.writeNumber(c.id());
+                json.writeString(c.marca());
+                json.writeString(c.modelo());
+                json.writeString(c.procesador());
+                json.writeString(c.memoriaRam());
+                json.writeString(c.almacenamiento());
+                json.writeNumber(c.precio());
+                json.writeNumber(c.stock());
+                if (c.fechaCreacion() == null) {
+                    json.writeNull();
+                } else {
+                    json.writeString(fecha, 0, escribirFecha(c.fechaCreacion(), fecha));
+                }
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
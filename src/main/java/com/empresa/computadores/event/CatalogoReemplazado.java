@@ -0,0 +1,19 @@
+package com.empresa.computadores.event;
+
+/**
+ * Evento publicado cuando el catálogo completo se reemplaza de una vez (importación de una
+ * instantánea). Los índices y cachés deben reconstruirse desde la base de datos en lugar de
+ * aplicar cambios sueltos.
+ */
+public class CatalogoReemplazado {
+
+    private final long cantidad;
+
+    public CatalogoReemplazado(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+}
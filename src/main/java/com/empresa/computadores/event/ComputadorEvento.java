@@ -0,0 +1,58 @@
+package com.empresa.computadores.event;
+
+import com.empresa.computadores.model.Computador;
+
+/**
+ * Evento publicado por ComputadorService cada vez que cambia el catálogo.
+ * Los oyentes lo reciben después del commit de la transacción.
+ */
+public class ComputadorEvento {
+    
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO,
+        STOCK
+    }
+    
+    private final Tipo tipo;
+    private final Long id;
+    private final Computador computador;
+    
+    public ComputadorEvento(Tipo tipo, Long id, Computador computador) {
+        this.tipo = tipo;
+        this.id = id;
+        this.computador = computador;
+    }
+    
+    public static ComputadorEvento creado(Computador computador) {
+        return new ComputadorEvento(Tipo.CREADO, computador.getId(), computador);
+    }
+    
+    public static ComputadorEvento actualizado(Computador computador) {
+        return new ComputadorEvento(Tipo.ACTUALIZADO, computador.getId(), computador);
+    }
+    
+    public static ComputadorEvento eliminado(Long id) {
+        return new ComputadorEvento(Tipo.ELIMINADO, id, null);
+    }
+    
+    public static ComputadorEvento stock(Computador computador) {
+        return new ComputadorEvento(Tipo.STOCK, computador.getId(), computador);
+    }
+    
+    public Tipo getTipo() {
+        return tipo;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * Estado del computador después del cambio (null si fue eliminado)
+     */
+    public Computador getComputador() {
+        return computador;
+    }
+}
@@ -5,11 +5,25 @@ import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "computadores")
+@Table(name = "computadores",
+       uniqueConstraints = @UniqueConstraint(name = Computador.RESTRICCION_MARCA_MODELO,
+                                             columnNames = {"marca", "modelo"}),
+       indexes = {
+           @Index(name = "idx_computadores_precio", columnList = "precio"),
+           @Index(name = "idx_computadores_stock", columnList = "stock"),
+           @Index(name = "idx_computadores_ram_gb", columnList = "ram_gb"),
+           @Index(name = "idx_computadores_almacenamiento", columnList = "almacenamiento_tipo, almacenamiento_gb"),
+           @Index(name = "idx_computadores_almacenamiento_gb", columnList = "almacenamiento_gb")
+       })
 public class Computador {
     
+    // El esquema se crea con las migraciones de db/migration; estos nombres deben coincidir
+    public static final String RESTRICCION_MARCA_MODELO = "uk_computadores_marca_modelo";
+    
+    // Secuencia con asignación por bloques para que Hibernate pueda agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "computadores_seq")
+    @SequenceGenerator(name = "computadores_seq", sequenceName = "computadores_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "La marca es obligatoria")
@@ -50,6 +64,13 @@ public class Computador {
     @Column(name = "fecha_creacion", nullable = false)
     private LocalDateTime fechaCreacion;
     
+    @Version
+    private Long version;
+    
+    // Derivadas de memoriaRam y almacenamiento en cada escritura; no se reciben del cliente
+    @Embedded
+    private Especificaciones especificaciones;
+    
     // Constructores
     public Computador() {
         this.fechaCreacion = LocalDateTime.now();
@@ -140,6 +161,27 @@ public class Computador {
         this.fechaCreacion = fechaCreacion;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Especificaciones getEspecificaciones() {
+        return especificaciones;
+    }
+    
+    /**
+     * Recalcular las especificaciones numéricas a partir de los textos de RAM y almacenamiento
+     */
+    @PrePersist
+    @PreUpdate
+    public void calcularEspecificaciones() {
+        this.especificaciones = Especificaciones.de(memoriaRam, almacenamiento);
+    }
+    
     @Override
     public String toString() {
         return "Computador{" +
@@ -152,6 +194,8 @@ public class Computador {
                 ", precio=" + precio +
                 ", stock=" + stock +
                 ", fechaCreacion=" + fechaCreacion +
+                ", version=" + version +
+                ", especificaciones=" + especificaciones +
                 '}';
     }
 }
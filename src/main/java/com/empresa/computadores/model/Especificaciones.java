@@ -0,0 +1,137 @@
+package com.empresa.computadores.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Especificaciones numéricas derivadas de los textos memoriaRam y almacenamiento
+ * ("16GB DDR4" → 16 GB, DDR4; "1TB SSD" → 1024 GB, SSD). Se calculan al guardar
+ * el computador y se guardan en columnas indexadas para poder filtrar por rango en SQL.
+ */
+@Embeddable
+public class Especificaciones {
+
+    private static final Pattern CAPACIDAD = Pattern.compile("(\\d+(?:[.,]\\d+)?)\\s*(TB|GB|MB)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TIPO_MEMORIA = Pattern.compile("(LP)?DDR\\d+X?", Pattern.CASE_INSENSITIVE);
+    private static final int LARGO_TIPO = 20;
+
+    @Column(name = "ram_gb")
+    private Integer ramGb;
+
+    @Column(name = "ram_tipo", length = LARGO_TIPO)
+    private String ramTipo;
+
+    @Column(name = "almacenamiento_gb")
+    private Integer almacenamientoGb;
+
+    @Column(name = "almacenamiento_tipo", length = LARGO_TIPO)
+    private String almacenamientoTipo;
+
+    public Especificaciones() {
+    }
+
+    public Especificaciones(Integer ramGb, String ramTipo, Integer almacenamientoGb, String almacenamientoTipo) {
+        this.ramGb = ramGb;
+        this.ramTipo = ramTipo;
+        this.almacenamientoGb = almacenamientoGb;
+        this.almacenamientoTipo = almacenamientoTipo;
+    }
+
+    /**
+     * Interpretar los textos libres; lo que no se reconoce queda en null
+     */
+    public static Especificaciones de(String memoriaRam, String almacenamiento) {
+        return new Especificaciones(
+                capacidadGb(memoriaRam),
+                tipoMemoria(memoriaRam),
+                capacidadGb(almacenamiento),
+                tipoAlmacenamiento(almacenamiento));
+    }
+
+    static Integer capacidadGb(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        Matcher capacidad = CAPACIDAD.matcher(texto);
+        if (!capacidad.find()) {
+            return null;
+        }
+        double valor = Double.parseDouble(capacidad.group(1).replace(',', '.'));
+        switch (capacidad.group(2).toUpperCase(Locale.ROOT)) {
+            case "TB" -> valor *= 1024;
+            case "MB" -> valor /= 1024;
+            default -> {
+                // Ya está en GB
+            }
+        }
+        return (int) Math.round(valor);
+    }
+
+    static String tipoMemoria(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        Matcher tipo = TIPO_MEMORIA.matcher(texto);
+        return tipo.find() ? tipo.group().toUpperCase(Locale.ROOT) : restante(texto);
+    }
+
+    static String tipoAlmacenamiento(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String mayusculas = texto.toUpperCase(Locale.ROOT);
+        if (mayusculas.contains("SSD") || mayusculas.contains("NVME")) {
+            return "SSD";
+        }
+        if (mayusculas.contains("HDD")) {
+            return "HDD";
+        }
+        if (mayusculas.contains("EMMC")) {
+            return "EMMC";
+        }
+        return restante(texto);
+    }
+
+    // Texto que sigue a la capacidad ("8GB Unified Memory" → "UNIFIED MEMORY")
+    private static String restante(String texto) {
+        Matcher capacidad = CAPACIDAD.matcher(texto);
+        String resto = capacidad.find() ? texto.substring(capacidad.end()) : texto;
+        resto = resto.trim().toUpperCase(Locale.ROOT);
+        if (resto.isEmpty()) {
+            return null;
+        }
+        return resto.length() > LARGO_TIPO ? resto.substring(0, LARGO_TIPO) : resto;
+    }
+
+    // Getters
+    public Integer getRamGb() {
+        return ramGb;
+    }
+
+    public String getRamTipo() {
+        return ramTipo;
+    }
+
+    public Integer getAlmacenamientoGb() {
+        return almacenamientoGb;
+    }
+
+    public String getAlmacenamientoTipo() {
+        return almacenamientoTipo;
+    }
+
+    @Override
+    public String toString() {
+        return "Especificaciones{" +
+                "ramGb=" + ramGb +
+                ", ramTipo='" + ramTipo + '\'' +
+                ", almacenamientoGb=" + almacenamientoGb +
+                ", almacenamientoTipo='" + almacenamientoTipo + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.empresa.computadores.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservas")
+public class Reserva {
+    
+    public enum Estado {
+        PENDIENTE,
+        CONFIRMADA,
+        LIBERADA
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "computador_id", nullable = false)
+    private Long computadorId;
+    
+    @Column(nullable = false)
+    private Integer cantidad;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Estado estado;
+    
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+    
+    // Constructores
+    public Reserva() {
+        this.fechaCreacion = LocalDateTime.now();
+    }
+    
+    public Reserva(Long computadorId, Integer cantidad) {
+        this();
+        this.computadorId = computadorId;
+        this.cantidad = cantidad;
+        this.estado = Estado.PENDIENTE;
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getComputadorId() {
+        return computadorId;
+    }
+    
+    public void setComputadorId(Long computadorId) {
+        this.computadorId = computadorId;
+    }
+    
+    public Integer getCantidad() {
+        return cantidad;
+    }
+    
+    public void setCantidad(Integer cantidad) {
+        this.cantidad = cantidad;
+    }
+    
+    public Estado getEstado() {
+        return estado;
+    }
+    
+    public void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+    
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+    
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+    
+    @Override
+    public String toString() {
+        return "Reserva{" +
+                "id=" + id +
+                ", computadorId=" + computadorId +
+                ", cantidad=" + cantidad +
+                ", estado=" + estado +
+                ", fechaCreacion=" + fechaCreacion +
+                '}';
+    }
+}
@@ -1,36 +1,58 @@
 package com.empresa.computadores.repository;
 
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.ConteoPorCapacidad;
+import com.empresa.computadores.dto.EstadisticaMarca;
 import com.empresa.computadores.model.Computador;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ComputadorRepository extends JpaRepository<Computador, Long> {
+public interface ComputadorRepository extends JpaRepository<Computador, Long>, ComputadorRepositoryCustom {
+    
+    /**
+     * Selección de la proyección de solo lectura usada por los listados
+     */
+    String SELECT_RESUMEN = "SELECT new com.empresa.computadores.dto.ComputadorResumen(" +
+            "c.id, c.marca, c.modelo, c.procesador, c.memoriaRam, c.almacenamiento, " +
+            "c.precio, c.stock, c.fechaCreacion) FROM Computador c ";
+    
+    /**
+     * Listar todos los computadores como proyección
+     */
+    @Query(SELECT_RESUMEN + "ORDER BY c.id")
+    List<ComputadorResumen> findAllResumenes();
     
     /**
      * Buscar computadores por marca
      */
-    List<Computador> findByMarcaContainingIgnoreCase(String marca);
+    List<ComputadorResumen> findByMarcaContainingIgnoreCase(String marca);
     
     /**
      * Buscar computadores por modelo
      */
-    List<Computador> findByModeloContainingIgnoreCase(String modelo);
+    List<ComputadorResumen> findByModeloContainingIgnoreCase(String modelo);
     
     /**
      * Buscar computadores por rango de precio
      */
-    List<Computador> findByPrecioBetween(Double precioMin, Double precioMax);
+    List<ComputadorResumen> findByPrecioBetween(Double precioMin, Double precioMax);
     
     /**
      * Buscar computadores con stock disponible
      */
-    List<Computador> findByStockGreaterThan(Integer stockMinimo);
+    List<ComputadorResumen> findByStockGreaterThan(Integer stockMinimo);
     
     /**
      * Buscar computadores por marca y modelo
@@ -44,19 +66,10 @@ public interface ComputadorRepository extends JpaRepository<Computador, Long> {
     List<Computador> findByProcesadorContainingIgnoreCase(String procesador);
     
     /**
-     * Consulta personalizada para buscar por múltiples criterios
+     * Obtener las proyecciones de los IDs indicados, en orden de ID
      */
-    @Query("SELECT c FROM Computador c WHERE " +
-           "(:marca IS NULL OR LOWER(c.marca) LIKE LOWER(CONCAT('%', :marca, '%'))) AND " +
-           "(:modelo IS NULL OR LOWER(c.modelo) LIKE LOWER(CONCAT('%', :modelo, '%'))) AND " +
-           "(:procesador IS NULL OR LOWER(c.procesador) LIKE LOWER(CONCAT('%', :procesador, '%'))) AND " +
-           "(:precioMin IS NULL OR c.precio >= :precioMin) AND " +
-           "(:precioMax IS NULL OR c.precio <= :precioMax)")
-    List<Computador> buscarPorCriterios(@Param("marca") String marca,
-                                       @Param("modelo") String modelo,
-                                       @Param("procesador") String procesador,
-                                       @Param("precioMin") Double precioMin,
-                                       @Param("precioMax") Double precioMax);
+    @Query(SELECT_RESUMEN + "WHERE c.id IN :ids ORDER BY c.id")
+    List<ComputadorResumen> findResumenesPorIds(@Param("ids") Collection<Long> ids);
     
     /**
      * Contar computadores por marca
@@ -68,6 +81,13 @@ public interface ComputadorRepository extends JpaRepository<Computador, Long> {
      */
     boolean existsByMarcaAndModelo(String marca, String modelo);
     
+    /**
+     * Obtener los pares (marca, modelo) ya registrados entre los candidatos dados
+     */
+    @Query("SELECT c.marca, c.modelo FROM Computador c WHERE c.marca IN :marcas AND c.modelo IN :modelos")
+    List<Object[]> findMarcaModeloExistentes(@Param("marcas") Collection<String> marcas,
+                                             @Param("modelos") Collection<String> modelos);
+    
     /**
      * Buscar computador por marca y modelo exactos
      */
@@ -76,5 +96,99 @@ public interface ComputadorRepository extends JpaRepository<Computador, Long> {
     /**
      * Buscar computadores con stock menor a un valor específico
      */
-    List<Computador> findByStockLessThan(Integer stockMaximo);
+    List<ComputadorResumen> findByStockLessThan(Integer stockMaximo);
+    
+    /**
+     * Página de computadores con ID mayor al indicado (paginación por cursor)
+     */
+    List<ComputadorResumen> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    /**
+     * Recorrer todos los computadores en orden de ID sin cargarlos en memoria
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_RESUMEN + "ORDER BY c.id")
+    Stream<ComputadorResumen> streamTodos();
+    
+    /**
+     * Descontar stock de forma atómica solo si hay unidades suficientes
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Computador c SET c.stock = c.stock - :cantidad, c.version = c.version + 1 " +
+           "WHERE c.id = :id AND c.stock >= :cantidad")
+    int descontarStock(@Param("id") Long id, @Param("cantidad") Integer cantidad);
+    
+    /**
+     * Devolver unidades al stock de forma atómica
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Computador c SET c.stock = c.stock + :cantidad, c.version = c.version + 1 " +
+           "WHERE c.id = :id")
+    int reponerStock(@Param("id") Long id, @Param("cantidad") Integer cantidad);
+    
+    /**
+     * Fijar el stock en una sola sentencia, sin leer la entidad antes
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Computador c SET c.stock = :stock, c.version = c.version + 1 WHERE c.id = :id")
+    int establecerStock(@Param("id") Long id, @Param("stock") Integer stock);
+    
+    /**
+     * Fijar el mismo stock a varios computadores en una sola sentencia
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Computador c SET c.stock = :stock, c.version = c.version + 1 WHERE c.id IN :ids")
+    int establecerStockPorIds(@Param("stock") Integer stock, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * IDs que existen entre los indicados
+     */
+    @Query("SELECT c.id FROM Computador c WHERE c.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Eliminar por ID en una sola sentencia, sin cargar las entidades
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Computador c WHERE c.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Contar computadores con stock menor a un valor específico
+     */
+    long countByStockLessThan(Integer stockMaximo);
+    
+    /**
+     * Total de unidades en stock
+     */
+    @Query("SELECT COALESCE(SUM(c.stock), 0) FROM Computador c")
+    Long sumarUnidades();
+    
+    /**
+     * Valor total del inventario (precio × stock)
+     */
+    @Query("SELECT COALESCE(SUM(c.precio * c.stock), 0) FROM Computador c")
+    Double sumarValorInventario();
+    
+    /**
+     * Cantidad, precios mínimo/máximo/promedio y unidades por marca
+     */
+    @Query("SELECT c.marca AS marca, COUNT(c) AS cantidad, MIN(c.precio) AS precioMinimo, " +
+           "MAX(c.precio) AS precioMaximo, AVG(c.precio) AS precioPromedio, SUM(c.stock) AS unidades " +
+           "FROM Computador c GROUP BY c.marca ORDER BY c.marca")
+    List<EstadisticaMarca> obtenerEstadisticasPorMarca();
+    
+    /**
+     * Histograma de computadores por GB de memoria RAM ("8GB" y "8 GB DDR4" cuentan juntos)
+     */
+    @Query("SELECT c.especificaciones.ramGb AS gb, COUNT(c) AS cantidad FROM Computador c " +
+           "GROUP BY c.especificaciones.ramGb ORDER BY c.especificaciones.ramGb")
+    List<ConteoPorCapacidad> contarPorRamGb();
+    
+    /**
+     * Histograma de computadores por GB de almacenamiento ("1TB" y "1024GB" cuentan juntos)
+     */
+    @Query("SELECT c.especificaciones.almacenamientoGb AS gb, COUNT(c) AS cantidad FROM Computador c " +
+           "GROUP BY c.especificaciones.almacenamientoGb ORDER BY c.especificaciones.almacenamientoGb")
+    List<ConteoPorCapacidad> contarPorAlmacenamientoGb();
 }
@@ -0,0 +1,18 @@
+package com.empresa.computadores.repository;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas del repositorio que se construyen en tiempo de ejecución
+ */
+public interface ComputadorRepositoryCustom {
+
+    /**
+     * Buscar por múltiples criterios; si se indican IDs candidatos, se restringe a ellos y se ordena por ID
+     */
+    List<ComputadorResumen> buscarPorCriterios(CriteriosBusqueda criterios, Collection<Long> ids);
+}
@@ -0,0 +1,82 @@
+package com.empresa.computadores.repository;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.model.Computador;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Búsqueda por criterios con solo las condiciones que se indicaron. A diferencia de
+ * "(:param IS NULL OR ...)", cada rango llega a la base de datos como una condición simple
+ * que puede resolverse con su índice (precio, ram_gb, almacenamiento_tipo/almacenamiento_gb).
+ */
+class ComputadorRepositoryImpl implements ComputadorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ComputadorResumen> buscarPorCriterios(CriteriosBusqueda criterios, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ComputadorResumen> consulta = cb.createQuery(ComputadorResumen.class);
+        Root<Computador> c = consulta.from(Computador.class);
+        Path<Object> especificaciones = c.get("especificaciones");
+
+        consulta.select(cb.construct(ComputadorResumen.class,
+                c.get("id"), c.get("marca"), c.get("modelo"), c.get("procesador"), c.get("memoriaRam"),
+                c.get("almacenamiento"), c.get("precio"), c.get("stock"), c.get("fechaCreacion")));
+
+        List<Predicate> condiciones = new ArrayList<>();
+        if (ids != null) {
+            condiciones.add(c.get("id").in(ids));
+        }
+        contiene(cb, condiciones, c.get("marca"), criterios.marca());
+        contiene(cb, condiciones, c.get("modelo"), criterios.modelo());
+        contiene(cb, condiciones, c.get("procesador"), criterios.procesador());
+        rango(cb, condiciones, c.get("precio"), criterios.precioMin(), criterios.precioMax());
+        rango(cb, condiciones, especificaciones.get("ramGb"), criterios.ramMinGb(), criterios.ramMaxGb());
+        igual(cb, condiciones, especificaciones.get("ramTipo"), criterios.ramTipo());
+        igual(cb, condiciones, especificaciones.get("almacenamientoTipo"), criterios.almacenamientoTipo());
+        rango(cb, condiciones, especificaciones.get("almacenamientoGb"),
+                criterios.almacenamientoMinGb(), criterios.almacenamientoMaxGb());
+        consulta.where(condiciones.toArray(new Predicate[0]));
+
+        // Mismo orden con o sin candidatos, para que el resultado guardado en caché no dependa del camino
+        consulta.orderBy(cb.asc(c.get("id")));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    // El término es literal, como en las consultas Containing de Spring Data: % y _ no son comodines
+    private static void contiene(CriteriaBuilder cb, List<Predicate> condiciones, Path<String> campo, String termino) {
+        if (termino != null) {
+            String literal = termino.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            condiciones.add(cb.like(cb.lower(campo), "%" + literal + "%", '\\'));
+        }
+    }
+
+    private static void igual(CriteriaBuilder cb, List<Predicate> condiciones, Path<String> campo, String valor) {
+        if (valor != null) {
+            condiciones.add(cb.equal(campo, valor));
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void rango(CriteriaBuilder cb, List<Predicate> condiciones,
+                                                               Path<T> campo, T minimo, T maximo) {
+        if (minimo != null) {
+            condiciones.add(cb.greaterThanOrEqualTo(campo, minimo));
+        }
+        if (maximo != null) {
+            condiciones.add(cb.lessThanOrEqualTo(campo, maximo));
+        }
+    }
+}
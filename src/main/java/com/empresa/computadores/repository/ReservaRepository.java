@@ -0,0 +1,21 @@
+package com.empresa.computadores.repository;
+
+import com.empresa.computadores.model.Reserva;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+    
+    /**
+     * Cambiar el estado de una reserva solo si sigue en el estado esperado
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Reserva r SET r.estado = :nuevoEstado WHERE r.id = :id AND r.estado = :estadoActual")
+    int cambiarEstado(@Param("id") Long id,
+                      @Param("estadoActual") Reserva.Estado estadoActual,
+                      @Param("nuevoEstado") Reserva.Estado nuevoEstado);
+}
@@ -0,0 +1,82 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.model.Especificaciones;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Completa las especificaciones numéricas de las filas que no las tienen (creadas antes de la
+ * migración V3 o insertadas directamente por SQL). Recorre la tabla por ID en lotes, cada lote
+ * en su propia transacción, sin cargar entidades.
+ */
+@Component
+public class BackfillEspecificaciones {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillEspecificaciones.class);
+
+    private static final String SELECT_PENDIENTES = "SELECT id, memoria_ram, almacenamiento FROM computadores " +
+            "WHERE id > ? AND (ram_gb IS NULL OR almacenamiento_gb IS NULL) ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_ESPECIFICACIONES = "UPDATE computadores SET ram_gb = ?, ram_tipo = ?, " +
+            "almacenamiento_gb = ?, almacenamiento_tipo = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheComputadores cacheComputadores;
+
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
+    @Value("${computadores.especificaciones.backfill.tamano-lote:1000}")
+    private int tamanoLote;
+
+    /**
+     * Ejecutar el backfill al iniciar la aplicación; devuelve la cantidad de filas actualizadas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int completar() {
+        long ultimoId = 0;
+        int actualizadas = 0;
+        while (true) {
+            List<Object[]> lote = new ArrayList<>();
+            List<Long> ids = jdbcTemplate.query(SELECT_PENDIENTES, (fila, numero) -> {
+                long id = fila.getLong("id");
+                Especificaciones especificaciones = Especificaciones.de(
+                        fila.getString("memoria_ram"), fila.getString("almacenamiento"));
+                lote.add(new Object[]{
+                        especificaciones.getRamGb(),
+                        especificaciones.getRamTipo(),
+                        especificaciones.getAlmacenamientoGb(),
+                        especificaciones.getAlmacenamientoTipo(),
+                        id
+                });
+                return id;
+            }, ultimoId, tamanoLote);
+            if (ids.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(UPDATE_ESPECIFICACIONES, lote);
+            actualizadas += lote.size();
+            ultimoId = ids.get(ids.size() - 1);
+        }
+
+        if (actualizadas > 0) {
+            // Las entidades y búsquedas en caché se leyeron sin especificaciones
+            cacheComputadores.invalidarTodo();
+            versionCatalogo.incrementar();
+            log.info("Especificaciones calculadas para {} computadores existentes", actualizadas);
+        }
+        return actualizadas;
+    }
+}
@@ -0,0 +1,47 @@
+package com.empresa.computadores.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Excluye las escrituras del catálogo mientras InstantaneaCatalogo lo reemplaza. Cada escritura
+ * toma el bloqueo compartido hasta que su transacción termina (commit incluido); el reemplazo toma
+ * el exclusivo desde antes del TRUNCATE hasta reiniciar la secuencia y reconstruir los índices.
+ * Una escritura que llega durante el reemplazo espera a que termine, así nunca obtiene un ID del
+ * bloque anterior ni inserta en un catálogo a medio cargar. Solo coordina esta instancia.
+ */
+@Component
+public class BloqueoCatalogo {
+
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    /**
+     * Registrar la transacción actual como escritura del catálogo; el bloqueo se libera al terminar
+     */
+    public void escritura() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Una escritura del catálogo debe ejecutarse en una transacción");
+        }
+        bloqueo.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                bloqueo.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Esperar a que terminen las escrituras en curso y bloquear las nuevas
+     */
+    void iniciarReemplazo() {
+        bloqueo.writeLock().lock();
+    }
+
+    void terminarReemplazo() {
+        bloqueo.writeLock().unlock();
+    }
+}
@@ -0,0 +1,216 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.config.DestinoLectura;
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché de lectura del catálogo: entidades por ID y resultados de búsquedas.
+ * Se invalida con precisión después del commit de cada cambio. Con réplicas, lo que se guarda se
+ * lee de la primaria: una réplica atrasada dejaría en caché un valor anterior al último cambio
+ * durante todo el TTL.
+ */
+@Component
+public class CacheComputadores {
+
+    private final Cache<Long, Computador> entidades;
+    private final Cache<CriteriosBusqueda, List<ComputadorResumen>> consultas;
+
+    // Índice inverso: búsquedas en caché cuyo resultado contiene cada ID. Se actualiza en la misma
+    // operación atómica que agrega o quita la búsqueda, así que nunca le falta una búsqueda guardada
+    private final Map<Long, Set<CriteriosBusqueda>> consultasPorId = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación; una carga iniciada antes no se guarda
+    private final AtomicLong generacion = new AtomicLong();
+
+    public CacheComputadores(
+            @Value("${computadores.cache.entidades.tamano-maximo:10000}") long maximoEntidades,
+            @Value("${computadores.cache.consultas.tamano-maximo:1000}") long maximoConsultas,
+            @Value("${computadores.cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.entidades = Caffeine.newBuilder()
+                .maximumSize(maximoEntidades)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.consultas = Caffeine.newBuilder()
+                .maximumSize(maximoConsultas)
+                .expireAfterWrite(ttl)
+                // Expulsión por tamaño o TTL: se ejecuta dentro de la misma operación que quita la entrada
+                .evictionListener((CriteriosBusqueda criterios, List<ComputadorResumen> resultado,
+                                   RemovalCause causa) -> desenlazar(criterios, resultado))
+                .recordStats()
+                .build();
+        // Aciertos, fallos y expulsiones también como métricas cache.* (cache=computadores.entidades...)
+        CaffeineCacheMetrics.monitor(meterRegistry, entidades, "computadores.entidades");
+        CaffeineCacheMetrics.monitor(meterRegistry, consultas, "computadores.consultas");
+    }
+
+    /**
+     * Obtener un computador por ID, cargándolo con el proveedor si no está en caché
+     */
+    public Optional<Computador> obtener(Long id, Supplier<Optional<Computador>> cargador) {
+        Computador enCache = entidades.getIfPresent(id);
+        if (enCache != null) {
+            return Optional.of(enCache);
+        }
+        long generacionInicial = generacion.get();
+        Optional<Computador> cargado = DestinoLectura.PRIMARIA.leer(cargador);
+        cargado.ifPresent(computador -> {
+            if (generacion.get() == generacionInicial) {
+                entidades.put(id, computador);
+            }
+        });
+        return cargado;
+    }
+
+    /**
+     * Obtener varios computadores por ID: los que no están en caché se cargan juntos con el proveedor.
+     * Los IDs inexistentes no aparecen en el resultado.
+     */
+    public Map<Long, Computador> obtenerVarios(Collection<Long> ids,
+                                               Function<List<Long>, List<Computador>> cargador) {
+        Map<Long, Computador> encontrados = new HashMap<>(entidades.getAllPresent(ids));
+        List<Long> faltantes = ids.stream().filter(id -> !encontrados.containsKey(id)).toList();
+        if (faltantes.isEmpty()) {
+            return encontrados;
+        }
+        long generacionInicial = generacion.get();
+        List<Computador> cargados = DestinoLectura.PRIMARIA.leer(() -> cargador.apply(faltantes));
+        boolean vigentes = generacion.get() == generacionInicial;
+        for (Computador computador : cargados) {
+            encontrados.put(computador.getId(), computador);
+            if (vigentes) {
+                entidades.put(computador.getId(), computador);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Obtener el resultado de una búsqueda, ejecutándola con el proveedor si no está en caché
+     */
+    public List<ComputadorResumen> buscar(CriteriosBusqueda criterios, Supplier<List<ComputadorResumen>> cargador) {
+        List<ComputadorResumen> enCache = consultas.getIfPresent(criterios);
+        if (enCache != null) {
+            return enCache;
+        }
+        long generacionInicial = generacion.get();
+        List<ComputadorResumen> resultado = List.copyOf(DestinoLectura.PRIMARIA.leer(cargador));
+        if (generacion.get() == generacionInicial) {
+            consultas.asMap().compute(criterios, (clave, anterior) -> {
+                if (anterior != null) {
+                    desenlazar(clave, anterior);
+                }
+                enlazar(clave, resultado);
+                return resultado;
+            });
+        }
+        return resultado;
+    }
+
+    /**
+     * Invalidar las entradas afectadas por un cambio confirmado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        generacion.incrementAndGet();
+        Long id = evento.getId();
+        Computador computador = evento.getComputador();
+
+        entidades.invalidate(id);
+        // Una búsqueda queda obsoleta si contenía el computador (índice inverso) o si ahora lo
+        // incluiría (se revisan los criterios, no los resultados)
+        Set<CriteriosBusqueda> conElComputador = consultasPorId.get(id);
+        if (conElComputador != null) {
+            List.copyOf(conElComputador).forEach(this::quitarConsulta);
+        }
+        if (computador != null) {
+            for (CriteriosBusqueda criterios : consultas.asMap().keySet()) {
+                if (criterios.coincide(computador)) {
+                    quitarConsulta(criterios);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vaciar ambas cachés (después de cambios hechos fuera de los servicios, p. ej. un backfill
+     * o la importación de una instantánea)
+     */
+    @EventListener(CatalogoReemplazado.class)
+    public void invalidarTodo() {
+        generacion.incrementAndGet();
+        entidades.invalidateAll();
+        // Primero el índice inverso: una búsqueda guardada entre las dos líneas se quita igual
+        consultasPorId.clear();
+        consultas.invalidateAll();
+    }
+
+    private void quitarConsulta(CriteriosBusqueda criterios) {
+        consultas.asMap().computeIfPresent(criterios, (clave, resultado) -> {
+            desenlazar(clave, resultado);
+            return null;
+        });
+    }
+
+    private void enlazar(CriteriosBusqueda criterios, List<ComputadorResumen> resultado) {
+        for (ComputadorResumen computador : resultado) {
+            consultasPorId.computeIfAbsent(computador.id(), id -> ConcurrentHashMap.newKeySet()).add(criterios);
+        }
+    }
+
+    private void desenlazar(CriteriosBusqueda criterios, List<ComputadorResumen> resultado) {
+        for (ComputadorResumen computador : resultado) {
+            consultasPorId.computeIfPresent(computador.id(), (id, claves) -> {
+                claves.remove(criterios);
+                return claves.isEmpty() ? null : claves;
+            });
+        }
+    }
+
+    /**
+     * Contadores de aciertos, fallos y expulsiones de cada caché
+     */
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.put("entidades", describir(entidades.stats(), entidades.estimatedSize()));
+        estadisticas.put("consultas", describir(consultas.stats(), consultas.estimatedSize()));
+        return estadisticas;
+    }
+
+    private Map<String, Object> describir(CacheStats stats, long tamano) {
+        Map<String, Object> descripcion = new HashMap<>();
+        descripcion.put("aciertos", stats.hitCount());
+        descripcion.put("fallos", stats.missCount());
+        descripcion.put("expulsiones", stats.evictionCount());
+        descripcion.put("tasaAciertos", stats.hitRate());
+        descripcion.put("tamano", tamano);
+        return descripcion;
+    }
+}
@@ -1,71 +1,312 @@
 package com.empresa.computadores.service;
 
+import com.empresa.computadores.dto.CambioStock;
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.CriteriosBusqueda;
+import com.empresa.computadores.event.ComputadorEvento;
 import com.empresa.computadores.model.Computador;
 import com.empresa.computadores.repository.ComputadorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ComputadorService {
     
+    private static final String UPDATE_FIJAR_STOCK =
+            "UPDATE computadores SET stock = ?, version = version + 1 WHERE id = ?";
+    
+    // La condición evita dejar stock negativo; 0 filas afectadas indica unidades insuficientes
+    private static final String UPDATE_SUMAR_STOCK =
+            "UPDATE computadores SET stock = stock + ?, version = version + 1 WHERE id = ? AND stock + ? >= 0";
+    
     @Autowired
     private ComputadorRepository computadorRepository;
     
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+    
+    @Autowired
+    private IndiceFacetas indiceFacetas;
+    
+    @Autowired
+    private IndiceRangos indiceRangos;
+    
+    @Autowired
+    private CacheComputadores cacheComputadores;
+    
+    @Autowired
+    private EscrituraDiferidaStock escrituraDiferida;
+    
+    @Autowired
+    private BloqueoCatalogo bloqueoCatalogo;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${computadores.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaDefecto;
+    
+    @Value("${computadores.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+    
+    @Value("${computadores.busqueda.tamano-lote-ids:1000}")
+    private int tamanoLoteIds;
+    
+    @Value("${computadores.busqueda.maximo-candidatos:2000}")
+    private int maximoCandidatos;
+    
+    @Value("${computadores.lote.tamano-maximo:10000}")
+    private int tamanoMaximoLote;
+    
+    @Value("${computadores.stock.umbral-bajo:5}")
+    private int umbralStockBajo;
+    
     /**
      * Obtener todos los computadores
      */
     @Transactional(readOnly = true)
-    public List<Computador> obtenerTodos() {
-        return computadorRepository.findAll();
+    public List<ComputadorResumen> obtenerTodos() {
+        return escrituraDiferida.aplicar(computadorRepository.findAllResumenes());
+    }
+    
+    /**
+     * Obtener una página de computadores a partir de un cursor opaco
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> obtenerPagina(String cursor, Integer tamano) {
+        int tamanoPagina = tamanoPagina(tamano);
+        Long despuesDeId = CursorPaginacion.decodificar(cursor);
+        
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<ComputadorResumen> computadores = computadorRepository.findByIdGreaterThanOrderByIdAsc(
+                despuesDeId, Limit.of(tamanoPagina + 1));
+        boolean haySiguiente = computadores.size() > tamanoPagina;
+        if (haySiguiente) {
+            computadores = computadores.subList(0, tamanoPagina);
+        }
+        
+        Map<String, Object> pagina = new HashMap<>();
+        pagina.put("contenido", escrituraDiferida.aplicar(computadores));
+        pagina.put("tamano", computadores.size());
+        pagina.put("siguienteCursor", haySiguiente
+                ? CursorPaginacion.codificar(computadores.get(computadores.size() - 1).id())
+                : null);
+        return pagina;
+    }
+    
+    /**
+     * Búsqueda por facetas: una página de resultados más los conteos por marca, familia de
+     * procesador y rango de precio, resueltos con los mapas de bits de IndiceFacetas
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, Object> buscarConFacetas(String marca, String familiaProcesador, String rangoPrecio,
+                                                String cursor, Integer tamano) {
+        if (!indiceFacetas.estaListo()) {
+            throw new RuntimeException("El índice de facetas todavía se está construyendo, intente nuevamente");
+        }
+        int tamanoPagina = tamanoPagina(tamano);
+        Long despuesDeId = CursorPaginacion.decodificar(cursor);
+        
+        Map<IndiceFacetas.Faceta, String> seleccion = new EnumMap<>(IndiceFacetas.Faceta.class);
+        if (marca != null && !marca.isEmpty()) {
+            seleccion.put(IndiceFacetas.Faceta.MARCA, marca);
+        }
+        if (familiaProcesador != null && !familiaProcesador.isEmpty()) {
+            seleccion.put(IndiceFacetas.Faceta.FAMILIA_PROCESADOR, familiaProcesador);
+        }
+        if (rangoPrecio != null && !rangoPrecio.isEmpty()) {
+            seleccion.put(IndiceFacetas.Faceta.RANGO_PRECIO, rangoPrecio);
+        }
+        
+        IndiceFacetas.Resultado resultado = indiceFacetas.consultar(seleccion, despuesDeId, tamanoPagina);
+        List<ComputadorResumen> computadores = resultado.pagina().isEmpty()
+                ? List.of()
+                : computadorRepository.findResumenesPorIds(resultado.pagina());
+        
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("contenido", escrituraDiferida.aplicar(computadores));
+        respuesta.put("tamano", computadores.size());
+        respuesta.put("total", resultado.total());
+        respuesta.put("siguienteCursor", resultado.haySiguiente()
+                ? CursorPaginacion.codificar(resultado.pagina().get(resultado.pagina().size() - 1))
+                : null);
+        respuesta.put("facetas", resultado.facetas());
+        return respuesta;
+    }
+    
+    private int tamanoPagina(Integer tamano) {
+        return tamano == null ? tamanoPaginaDefecto : Math.min(Math.max(tamano, 1), tamanoPaginaMaximo);
     }
     
     /**
-     * Obtener computador por ID
+     * Escribir todos los computadores como NDJSON a medida que se leen de la base de datos
      */
     @Transactional(readOnly = true)
+    public void escribirNdjson(OutputStream salida) throws IOException {
+        try (Stream<ComputadorResumen> computadores = computadorRepository.streamTodos()) {
+            Iterator<ComputadorResumen> iterador = computadores.iterator();
+            int escritos = 0;
+            while (iterador.hasNext()) {
+                salida.write(objectMapper.writeValueAsBytes(escrituraDiferida.aplicar(iterador.next())));
+                salida.write('\n');
+                if (++escritos % 500 == 0) {
+                    salida.flush();
+                }
+            }
+        }
+        salida.flush();
+    }
+    
+    /**
+     * Obtener computador por ID (a través de la caché; un acierto no abre transacción)
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<Computador> obtenerPorId(Long id) {
-        return computadorRepository.findById(id);
+        return cacheComputadores.obtener(id, () -> computadorRepository.findById(id))
+                .map(escrituraDiferida::aplicar);
     }
     
     /**
      * Crear un nuevo computador
      */
     public Computador crear(Computador computador) {
-        // Validar que no exista otro computador con la misma marca y modelo
-        if (computadorRepository.existsByMarcaAndModelo(computador.getMarca(), computador.getModelo())) {
-            throw new RuntimeException("Ya existe un computador con la marca " + 
-                                    computador.getMarca() + " y modelo " + computador.getModelo());
+        bloqueoCatalogo.escritura();
+        // La versión la asigna JPA; un valor enviado por el cliente se ignora
+        computador.setVersion(null);
+        
+        // El índice único (marca, modelo) valida los duplicados al insertar, sin consulta previa
+        Computador computadorCreado = guardarValidandoMarcaModelo(computador);
+        eventPublisher.publishEvent(ComputadorEvento.creado(computadorCreado));
+        return computadorCreado;
+    }
+    
+    private Computador guardarValidandoMarcaModelo(Computador computador) {
+        try {
+            return computadorRepository.saveAndFlush(computador);
+        } catch (DataIntegrityViolationException e) {
+            if (esMarcaModeloDuplicado(e)) {
+                throw new RuntimeException("Ya existe un computador con la marca " + 
+                                        computador.getMarca() + " y modelo " + computador.getModelo());
+            }
+            throw e;
+        }
+    }
+    
+    private static boolean esMarcaModeloDuplicado(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violacion
+                && violacion.getConstraintName() != null
+                && violacion.getConstraintName().toLowerCase(Locale.ROOT)
+                        .contains(Computador.RESTRICCION_MARCA_MODELO);
+    }
+    
+    /**
+     * Crear un lote de computadores en una sola transacción usando inserciones JDBC por lotes.
+     * Devuelve los computadores rechazados porque su marca y modelo ya existen. Si otra transacción
+     * crea uno de ellos al mismo tiempo, el lote completo se revierte con una excepción.
+     */
+    public List<Computador> crearLote(List<Computador> computadores) {
+        bloqueoCatalogo.escritura();
+        Set<String> marcas = new HashSet<>();
+        Set<String> modelos = new HashSet<>();
+        for (Computador computador : computadores) {
+            marcas.add(computador.getMarca());
+            modelos.add(computador.getModelo());
+        }
+        
+        // Una sola consulta para todo el lote en lugar de existsByMarcaAndModelo por fila
+        Set<String> existentes = new HashSet<>();
+        for (Object[] fila : computadorRepository.findMarcaModeloExistentes(marcas, modelos)) {
+            existentes.add(clave((String) fila[0], (String) fila[1]));
+        }
+        
+        List<Computador> nuevos = new ArrayList<>();
+        List<Computador> rechazados = new ArrayList<>();
+        for (Computador computador : computadores) {
+            if (existentes.contains(clave(computador.getMarca(), computador.getModelo()))) {
+                rechazados.add(computador);
+            } else {
+                computador.setId(null);
+                computador.setVersion(null);
+                nuevos.add(computador);
+            }
         }
         
-        return computadorRepository.save(computador);
+        computadorRepository.saveAll(nuevos);
+        try {
+            computadorRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Otra transacción insertó la misma marca y modelo después de la consulta anterior
+            if (esMarcaModeloDuplicado(e)) {
+                throw new RuntimeException("Un computador del lote fue creado por otra operación al mismo tiempo");
+            }
+            throw e;
+        }
+        for (Computador computador : nuevos) {
+            eventPublisher.publishEvent(ComputadorEvento.creado(computador));
+        }
+        entityManager.clear();
+        return rechazados;
+    }
+    
+    private static String clave(String marca, String modelo) {
+        return marca + '\u0000' + modelo;
     }
     
     /**
      * Actualizar un computador existente
      */
     public Computador actualizar(Long id, Computador computadorActualizado) {
+        bloqueoCatalogo.escritura();
+        escrituraDiferida.descargar(List.of(id));
         Computador computadorExistente = computadorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Computador no encontrado con ID: " + id));
         
-        // Verificar si se está cambiando marca y modelo
-        if (!computadorExistente.getMarca().equals(computadorActualizado.getMarca()) ||
-            !computadorExistente.getModelo().equals(computadorActualizado.getModelo())) {
-            
-            // Verificar que no exista otro computador con la nueva marca y modelo
-            if (computadorRepository.existsByMarcaAndModelo(
-                    computadorActualizado.getMarca(), computadorActualizado.getModelo())) {
-                throw new RuntimeException("Ya existe un computador con la marca " + 
-                                        computadorActualizado.getMarca() + " y modelo " + 
-                                        computadorActualizado.getModelo());
-            }
+        // Bloqueo optimista: si el cliente envía la versión que leyó, debe seguir siendo la actual
+        if (computadorActualizado.getVersion() != null &&
+            !computadorActualizado.getVersion().equals(computadorExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Computador.class, id);
         }
         
-        // Actualizar los campos
+        // Actualizar los campos (un cambio de marca y modelo a uno existente lo rechaza el índice único)
         computadorExistente.setMarca(computadorActualizado.getMarca());
         computadorExistente.setModelo(computadorActualizado.getModelo());
         computadorExistente.setProcesador(computadorActualizado.getProcesador());
@@ -74,73 +315,392 @@ public class ComputadorService {
         computadorExistente.setPrecio(computadorActualizado.getPrecio());
         computadorExistente.setStock(computadorActualizado.getStock());
         
-        return computadorRepository.save(computadorExistente);
+        Computador computadorGuardado = guardarValidandoMarcaModelo(computadorExistente);
+        eventPublisher.publishEvent(ComputadorEvento.actualizado(computadorGuardado));
+        return computadorGuardado;
     }
     
     /**
      * Eliminar un computador
      */
     public void eliminar(Long id) {
-        if (!computadorRepository.existsById(id)) {
+        bloqueoCatalogo.escritura();
+        escrituraDiferida.descargar(List.of(id));
+        // Un solo DELETE; deleteById consultaría la entidad antes de borrarla
+        if (computadorRepository.eliminarPorIds(List.of(id)) == 0) {
             throw new RuntimeException("Computador no encontrado con ID: " + id);
         }
-        computadorRepository.deleteById(id);
+        eventPublisher.publishEvent(ComputadorEvento.eliminado(id));
     }
     
     /**
      * Buscar computadores por marca
      */
-    @Transactional(readOnly = true)
-    public List<Computador> buscarPorMarca(String marca) {
-        return computadorRepository.findByMarcaContainingIgnoreCase(marca);
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ComputadorResumen> buscarPorMarca(String marca) {
+        // La misma consulta que buscarPorCriterios, que comparte esta clave de caché
+        CriteriosBusqueda criterios = CriteriosBusqueda.de(marca, null, null, null, null);
+        return escrituraDiferida.aplicar(
+                cacheComputadores.buscar(criterios, () -> consultarPorCriterios(criterios)));
     }
     
     /**
      * Buscar computadores por modelo
      */
-    @Transactional(readOnly = true)
-    public List<Computador> buscarPorModelo(String modelo) {
-        return computadorRepository.findByModeloContainingIgnoreCase(modelo);
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ComputadorResumen> buscarPorModelo(String modelo) {
+        // La misma consulta que buscarPorCriterios, que comparte esta clave de caché
+        CriteriosBusqueda criterios = CriteriosBusqueda.de(null, modelo, null, null, null);
+        return escrituraDiferida.aplicar(
+                cacheComputadores.buscar(criterios, () -> consultarPorCriterios(criterios)));
     }
     
     /**
      * Buscar computadores por rango de precio
      */
     @Transactional(readOnly = true)
-    public List<Computador> buscarPorRangoPrecio(Double precioMin, Double precioMax) {
-        return computadorRepository.findByPrecioBetween(precioMin, precioMax);
+    public List<ComputadorResumen> buscarPorRangoPrecio(Double precioMin, Double precioMax) {
+        return escrituraDiferida.aplicar(computadorRepository.findByPrecioBetween(precioMin, precioMax));
+    }
+    
+    /**
+     * Una página de computadores por rango de precio, ordenada por precio. El índice en memoria
+     * resuelve la página y el total; solo se cargan los computadores de la página
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> paginaPorRangoPrecio(Double precioMin, Double precioMax, String cursor, Integer tamano) {
+        validarIndiceRangos();
+        IndiceRangos.Resultado resultado = indiceRangos.consultarPrecio(precioMin, precioMax,
+                CursorPaginacion.decodificarPosicion(cursor), tamanoPagina(tamano));
+        return paginaDeRango(resultado, enRangoPrecio(precioMin, precioMax));
     }
     
     /**
      * Buscar computadores con stock disponible
      */
     @Transactional(readOnly = true)
-    public List<Computador> buscarConStockDisponible(Integer stockMinimo) {
-        return computadorRepository.findByStockGreaterThan(stockMinimo);
+    public List<ComputadorResumen> buscarConStockDisponible(Integer stockMinimo) {
+        return escrituraDiferida.aplicar(computadorRepository.findByStockGreaterThan(stockMinimo));
     }
     
     /**
-     * Buscar computadores por múltiples criterios
+     * Una página de computadores con stock disponible, ordenada por stock (con el índice en memoria)
      */
     @Transactional(readOnly = true)
-    public List<Computador> buscarPorCriterios(String marca, String modelo, String procesador, 
-                                              Double precioMin, Double precioMax) {
-        return computadorRepository.buscarPorCriterios(marca, modelo, procesador, precioMin, precioMax);
+    public Map<String, Object> paginaConStockDisponible(Integer stockMinimo, String cursor, Integer tamano) {
+        validarIndiceRangos();
+        IndiceRangos.Resultado resultado = indiceRangos.consultarStock(stockMinimo + 1L, Integer.MAX_VALUE,
+                CursorPaginacion.decodificarPosicion(cursor), tamanoPagina(tamano));
+        return paginaDeRango(resultado, c -> c.stock() > stockMinimo);
+    }
+    
+    /**
+     * Buscar computadores por múltiples criterios (texto, precio y especificaciones)
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ComputadorResumen> buscarPorCriterios(CriteriosBusqueda criterios) {
+        return escrituraDiferida.aplicar(
+                cacheComputadores.buscar(criterios, () -> consultarPorCriterios(criterios)));
+    }
+    
+    private List<ComputadorResumen> consultarPorCriterios(CriteriosBusqueda criterios) {
+        // Resolver candidatos con el índice de trigramas antes de consultar la base de datos
+        Set<Long> candidatos = indiceTrigramas.buscarCandidatos(
+                criterios.marca(), criterios.modelo(), criterios.procesador());
+        // Con muchos candidatos (un trigrama común) los lotes IN cuestan más que una sola consulta
+        if (candidatos == null || candidatos.size() > maximoCandidatos) {
+            return computadorRepository.buscarPorCriterios(criterios, null);
+        }
+        
+        List<Long> ids = new ArrayList<>(candidatos);
+        ids.sort(null);
+        List<ComputadorResumen> resultado = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += tamanoLoteIds) {
+            List<Long> lote = ids.subList(i, Math.min(i + tamanoLoteIds, ids.size()));
+            resultado.addAll(computadorRepository.buscarPorCriterios(criterios, lote));
+        }
+        return resultado;
     }
     
     /**
      * Actualizar stock de un computador
      */
     public Computador actualizarStock(Long id, Integer nuevoStock) {
-        Computador computador = computadorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Computador no encontrado con ID: " + id));
+        if (nuevoStock < 0) {
+            throw new RuntimeException("El stock no puede ser negativo");
+        }
+        bloqueoCatalogo.escritura();
+        
+        // Una sola sentencia UPDATE en lugar de leer, modificar y guardar
+        if (computadorRepository.establecerStock(id, nuevoStock) == 0) {
+            throw new RuntimeException("Computador no encontrado con ID: " + id);
+        }
         
+        Computador computador = computadorRepository.findById(id).orElseThrow();
+        eventPublisher.publishEvent(ComputadorEvento.stock(computador));
+        return computador;
+    }
+    
+    /**
+     * Actualizar stock en modo diferido: el valor queda pendiente y se escribe en la próxima
+     * descarga de EscrituraDiferidaStock. Sin transacción; el computador se busca en la caché.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Computador actualizarStockDiferido(Long id, Integer nuevoStock) {
         if (nuevoStock < 0) {
             throw new RuntimeException("El stock no puede ser negativo");
         }
+        Computador computador = cacheComputadores.obtener(id, () -> computadorRepository.findById(id))
+                .orElseThrow(() -> new RuntimeException("Computador no encontrado con ID: " + id));
+        escrituraDiferida.registrar(id, nuevoStock);
+        return escrituraDiferida.aplicar(computador);
+    }
+    
+    /**
+     * Obtener varios computadores por ID: los que están en caché sin consultar y el resto con
+     * consultas IN. Devuelve los encontrados en el orden pedido y los IDs que no existen.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, Object> obtenerPorIds(List<Long> ids) {
+        Set<Long> unicos = idsDelLote(ids);
+        Map<Long, Computador> encontrados = cacheComputadores.obtenerVarios(unicos, this::cargarPorIds);
+        
+        List<Computador> contenido = new ArrayList<>();
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : unicos) {
+            Computador computador = encontrados.get(id);
+            if (computador != null) {
+                contenido.add(escrituraDiferida.aplicar(computador));
+            } else {
+                noEncontrados.add(id);
+            }
+        }
         
-        computador.setStock(nuevoStock);
-        return computadorRepository.save(computador);
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("contenido", contenido);
+        respuesta.put("noEncontrados", noEncontrados);
+        return respuesta;
+    }
+    
+    /**
+     * Fijar o ajustar el stock de varios computadores en una sola transacción. Los valores fijos
+     * repetidos se aplican con un UPDATE ... WHERE id IN por valor; los demás cambios, con
+     * sentencias JDBC por lotes. Devuelve el resultado de cada cambio en el orden recibido.
+     */
+    public Map<String, Object> actualizarStockLote(List<CambioStock> cambios) {
+        validarTamanoLote(cambios.size());
+        
+        // Un resultado por posición del lote; los cambios válidos se completan después de aplicarlos
+        List<Map<String, Object>> resultados = new ArrayList<>();
+        Map<Long, Integer> posiciones = new HashMap<>();
+        List<CambioStock> validos = new ArrayList<>();
+        for (CambioStock cambio : cambios) {
+            String error = validarCambioStock(cambio, posiciones.keySet());
+            if (error != null) {
+                resultados.add(resultadoLote(cambio == null ? null : cambio.id(), "RECHAZADO", error));
+            } else {
+                posiciones.put(cambio.id(), resultados.size());
+                resultados.add(null);
+                validos.add(cambio);
+            }
+        }
+        
+        bloqueoCatalogo.escritura();
+        escrituraDiferida.descargar(validos.stream().map(CambioStock::id).toList());
+        
+        Map<Integer, List<Long>> idsPorStock = new HashMap<>();
+        List<Object[]> fijos = new ArrayList<>();
+        List<Object[]> deltas = new ArrayList<>();
+        for (CambioStock cambio : validos) {
+            if (cambio.stock() != null) {
+                idsPorStock.computeIfAbsent(cambio.stock(), stock -> new ArrayList<>()).add(cambio.id());
+            } else {
+                deltas.add(new Object[]{cambio.delta(), cambio.id(), cambio.delta()});
+            }
+        }
+        idsPorStock.forEach((stock, ids) -> {
+            if (ids.size() == 1) {
+                fijos.add(new Object[]{stock, ids.get(0)});
+            } else {
+                for (List<Long> lote : particionar(ids)) {
+                    computadorRepository.establecerStockPorIds(stock, lote);
+                }
+            }
+        });
+        if (!fijos.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_FIJAR_STOCK, fijos);
+        }
+        Set<Long> sinUnidades = new HashSet<>();
+        if (!deltas.isEmpty()) {
+            int[] filas = jdbcTemplate.batchUpdate(UPDATE_SUMAR_STOCK, deltas);
+            for (int i = 0; i < filas.length; i++) {
+                if (filas[i] == 0) {
+                    sinUnidades.add((Long) deltas.get(i)[1]);
+                }
+            }
+        }
+        
+        // Estado final de los computadores afectados: informa el stock resultante y detecta IDs inexistentes
+        entityManager.clear();
+        Map<Long, Computador> actualizados = new HashMap<>();
+        cargarPorIds(validos.stream().map(CambioStock::id).toList())
+                .forEach(computador -> actualizados.put(computador.getId(), computador));
+        
+        int aplicados = 0;
+        for (CambioStock cambio : validos) {
+            Computador computador = actualizados.get(cambio.id());
+            int posicion = posiciones.get(cambio.id());
+            if (computador == null) {
+                resultados.set(posicion, resultadoLote(cambio.id(), "NO_ENCONTRADO",
+                        "Computador no encontrado con ID: " + cambio.id()));
+            } else if (sinUnidades.contains(cambio.id())) {
+                resultados.set(posicion, resultadoLote(cambio.id(), "RECHAZADO",
+                        "Stock insuficiente: hay " + computador.getStock() + " unidades"));
+            } else {
+                Map<String, Object> resultado = resultadoLote(cambio.id(), "ACTUALIZADO", null);
+                resultado.put("stock", computador.getStock());
+                resultados.set(posicion, resultado);
+                eventPublisher.publishEvent(ComputadorEvento.stock(computador));
+                aplicados++;
+            }
+        }
+        
+        Map<String, Object> reporte = new HashMap<>();
+        reporte.put("procesados", cambios.size());
+        reporte.put("actualizados", aplicados);
+        reporte.put("resultados", resultados);
+        return reporte;
+    }
+    
+    /**
+     * Eliminar varios computadores en una sola transacción, con el resultado de cada ID
+     */
+    public Map<String, Object> eliminarLote(List<Long> ids) {
+        Set<Long> unicos = idsDelLote(ids);
+        bloqueoCatalogo.escritura();
+        escrituraDiferida.descargar(unicos);
+        
+        Set<Long> existentes = new HashSet<>();
+        for (List<Long> lote : particionar(new ArrayList<>(unicos))) {
+            existentes.addAll(computadorRepository.findIdsExistentes(lote));
+        }
+        for (List<Long> lote : particionar(new ArrayList<>(existentes))) {
+            computadorRepository.eliminarPorIds(lote);
+        }
+        
+        List<Map<String, Object>> resultados = new ArrayList<>();
+        for (Long id : unicos) {
+            if (existentes.contains(id)) {
+                resultados.add(resultadoLote(id, "ELIMINADO", null));
+                eventPublisher.publishEvent(ComputadorEvento.eliminado(id));
+            } else {
+                resultados.add(resultadoLote(id, "NO_ENCONTRADO", "Computador no encontrado con ID: " + id));
+            }
+        }
+        
+        Map<String, Object> reporte = new HashMap<>();
+        reporte.put("procesados", unicos.size());
+        reporte.put("eliminados", existentes.size());
+        reporte.put("resultados", resultados);
+        return reporte;
+    }
+    
+    private void validarIndiceRangos() {
+        if (!indiceRangos.estaListo()) {
+            throw new RuntimeException("El índice de precio y stock todavía se está construyendo, intente nuevamente");
+        }
+    }
+    
+    private Map<String, Object> paginaDeRango(IndiceRangos.Resultado resultado, Predicate<ComputadorResumen> filtro) {
+        List<ComputadorResumen> computadores = cargarEnOrden(resultado.pagina(), filtro);
+        Map<String, Object> respuesta = new HashMap<>();
+        respuesta.put("contenido", escrituraDiferida.aplicar(computadores));
+        respuesta.put("tamano", computadores.size());
+        respuesta.put("total", resultado.total());
+        respuesta.put("siguienteCursor", resultado.siguiente() != null
+                ? CursorPaginacion.codificar(resultado.siguiente())
+                : null);
+        return respuesta;
+    }
+    
+    // Proyecciones en el orden del índice; se descartan las que dejaron de cumplir el filtro después de leerlo
+    private List<ComputadorResumen> cargarEnOrden(List<Long> ids, Predicate<ComputadorResumen> filtro) {
+        Map<Long, ComputadorResumen> porId = new HashMap<>();
+        for (List<Long> lote : particionar(ids)) {
+            computadorRepository.findResumenesPorIds(lote).forEach(computador -> porId.put(computador.id(), computador));
+        }
+        List<ComputadorResumen> computadores = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ComputadorResumen computador = porId.get(id);
+            if (computador != null && filtro.test(computador)) {
+                computadores.add(computador);
+            }
+        }
+        return computadores;
+    }
+    
+    private static Predicate<ComputadorResumen> enRangoPrecio(Double precioMin, Double precioMax) {
+        return computador -> computador.precio() >= precioMin && computador.precio() <= precioMax;
+    }
+    
+    private List<Computador> cargarPorIds(List<Long> ids) {
+        List<Computador> computadores = new ArrayList<>();
+        for (List<Long> lote : particionar(ids)) {
+            computadores.addAll(computadorRepository.findAllById(lote));
+        }
+        return computadores;
+    }
+    
+    // Lotes de a lo sumo tamanoLoteIds elementos para no superar el límite de parámetros de un IN
+    private <T> List<List<T>> particionar(List<T> elementos) {
+        List<List<T>> lotes = new ArrayList<>();
+        for (int i = 0; i < elementos.size(); i += tamanoLoteIds) {
+            lotes.add(elementos.subList(i, Math.min(i + tamanoLoteIds, elementos.size())));
+        }
+        return lotes;
+    }
+    
+    private Set<Long> idsDelLote(List<Long> ids) {
+        validarTamanoLote(ids.size());
+        if (ids.contains(null)) {
+            throw new RuntimeException("El lote contiene un ID nulo");
+        }
+        return new LinkedHashSet<>(ids);
+    }
+    
+    private void validarTamanoLote(int tamano) {
+        if (tamano == 0) {
+            throw new RuntimeException("El lote está vacío");
+        }
+        if (tamano > tamanoMaximoLote) {
+            throw new RuntimeException("El lote no puede tener más de " + tamanoMaximoLote + " elementos");
+        }
+    }
+    
+    private static String validarCambioStock(CambioStock cambio, Set<Long> idsAnteriores) {
+        if (cambio == null || cambio.id() == null) {
+            return "El ID es obligatorio";
+        }
+        if ((cambio.stock() == null) == (cambio.delta() == null)) {
+            return "Debe indicarse stock o delta, pero no ambos";
+        }
+        if (cambio.stock() != null && cambio.stock() < 0) {
+            return "El stock no puede ser negativo";
+        }
+        if (idsAnteriores.contains(cambio.id())) {
+            return "El ID aparece más de una vez en el lote";
+        }
+        return null;
+    }
+    
+    private static Map<String, Object> resultadoLote(Long id, String estado, String mensaje) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("id", id);
+        resultado.put("estado", estado);
+        if (mensaje != null) {
+            resultado.put("mensaje", mensaje);
+        }
+        return resultado;
     }
     
     /**
@@ -152,10 +712,32 @@ public class ComputadorService {
     }
     
     /**
-     * Obtener computadores con stock bajo (menos de 5 unidades)
+     * Obtener los contadores de la caché del catálogo
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> obtenerEstadisticasCache() {
+        return cacheComputadores.obtenerEstadisticas();
+    }
+    
+    /**
+     * Obtener computadores con stock bajo (menos de "umbral" unidades; por defecto
+     * computadores.stock.umbral-bajo)
+     */
+    @Transactional(readOnly = true)
+    public List<ComputadorResumen> obtenerConStockBajo(Integer umbral) {
+        return escrituraDiferida.aplicar(computadorRepository.findByStockLessThan(
+                umbral == null ? umbralStockBajo : umbral));
+    }
+    
+    /**
+     * Una página de computadores con stock bajo, de menor a mayor stock (con el índice en memoria)
      */
     @Transactional(readOnly = true)
-    public List<Computador> obtenerConStockBajo() {
-        return computadorRepository.findByStockLessThan(5);
+    public Map<String, Object> paginaConStockBajo(Integer umbral, String cursor, Integer tamano) {
+        validarIndiceRangos();
+        int limite = umbral == null ? umbralStockBajo : umbral;
+        IndiceRangos.Resultado resultado = indiceRangos.consultarStock(Integer.MIN_VALUE, limite - 1L,
+                CursorPaginacion.decodificarPosicion(cursor), tamanoPagina(tamano));
+        return paginaDeRango(resultado, c -> c.stock() < limite);
     }
 }
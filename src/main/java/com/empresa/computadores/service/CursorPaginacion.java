@@ -0,0 +1,72 @@
+package com.empresa.computadores.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica el cursor opaco usado en la paginación por ID y en la paginación
+ * por valor de IndiceRangos (valor e ID del último elemento)
+ */
+public final class CursorPaginacion {
+
+    private static final String PREFIJO = "id:";
+    private static final String PREFIJO_POSICION = "pos:";
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Generar el cursor que apunta a continuación del ID indicado
+     */
+    public static String codificar(Long ultimoId) {
+        String valor = PREFIJO + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Obtener el último ID leído a partir del cursor (0 si no hay cursor)
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return Long.parseLong(valor.substring(PREFIJO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Generar el cursor que apunta a continuación de una posición de IndiceRangos
+     */
+    public static String codificar(IndiceRangos.Posicion posicion) {
+        String valor = PREFIJO_POSICION + posicion.clave() + ":" + posicion.id();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Obtener la posición de IndiceRangos a partir del cursor (null si no hay cursor)
+     */
+    public static IndiceRangos.Posicion decodificarPosicion(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(":");
+            if (partes.length != 3 || !valor.startsWith(PREFIJO_POSICION)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return new IndiceRangos.Posicion(Long.parseLong(partes[1]), Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.repository.ComputadorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura diferida del stock (opcional, computadores.stock.escritura-diferida.habilitada).
+ * PUT /{id}/stock solo deja el nuevo valor en un mapa por ID: varias escrituras al mismo computador
+ * antes de la siguiente descarga se reducen a la última. Un único hilo escribe los pendientes con un
+ * lote JDBC cada "intervalo" o al llegar a "maximo-pendientes", así que la base de datos recibe una
+ * escritura por computador y descarga, no una por petición. Las lecturas aplican los valores
+ * pendientes; al detener la aplicación se escriben los que queden, y un cambio que llegue después
+ * se escribe en el momento.
+ */
+@Component
+public class EscrituraDiferidaStock implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EscrituraDiferidaStock.class);
+
+    private static final String UPDATE_STOCK =
+            "UPDATE computadores SET stock = ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
+    private final boolean habilitada;
+    private final Duration intervalo;
+    private final int maximoPendientes;
+    private final TransactionTemplate transaccion;
+
+    // Un valor sigue aquí hasta que su escritura se confirma, para que las lecturas nunca vean uno anterior
+    private final Map<Long, Integer> pendientes = new ConcurrentHashMap<>();
+    // Serializa las descargas: un valor tomado después nunca se escribe antes que uno tomado antes
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final AtomicBoolean descargaPendiente = new AtomicBoolean();
+    private volatile ScheduledExecutorService descargador;
+    // false antes de start() y desde stop(): registrar() escribe en el momento en lugar de diferir
+    private volatile boolean enMarcha;
+    private final Counter recibidas;
+    private final Counter escritas;
+
+    public EscrituraDiferidaStock(
+            @Value("${computadores.stock.escritura-diferida.habilitada:false}") boolean habilitada,
+            @Value("${computadores.stock.escritura-diferida.intervalo:200ms}") Duration intervalo,
+            @Value("${computadores.stock.escritura-diferida.maximo-pendientes:1000}") int maximoPendientes,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.habilitada = habilitada;
+        this.intervalo = intervalo;
+        this.maximoPendientes = maximoPendientes;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        // Cada descarga es independiente de la transacción de quien la pida
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("computadores.stock.pendientes", pendientes, Map::size)
+                .description("Cambios de stock a la espera de escribirse")
+                .register(meterRegistry);
+        this.recibidas = Counter.builder("computadores.stock.escrituras.recibidas")
+                .description("Cambios de stock recibidos en modo diferido")
+                .register(meterRegistry);
+        this.escritas = Counter.builder("computadores.stock.escrituras.escritas")
+                .description("Filas actualizadas por las descargas")
+                .register(meterRegistry);
+    }
+
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Registrar el nuevo stock de un computador; reemplaza cualquier valor pendiente anterior
+     */
+    public void registrar(Long id, int stock) {
+        pendientes.put(id, stock);
+        recibidas.increment();
+        // Las respuestas condicionales deben ver el cambio antes de que llegue a la base de datos
+        versionCatalogo.incrementar();
+        if (!enMarcha) {
+            // Sin descargador no hay quien lo escriba después. stop() apaga enMarcha antes de su
+            // última descarga, así que un valor agregado antes lo escribe stop() y uno posterior llega aquí.
+            descargar(List.of(id));
+            return;
+        }
+        ScheduledExecutorService hilo = descargador;
+        if (hilo != null && pendientes.size() >= maximoPendientes && descargaPendiente.compareAndSet(false, true)) {
+            hilo.execute(this::descargarProgramado);
+        }
+    }
+
+    /**
+     * Computador con el stock pendiente aplicado (una copia; la instancia recibida puede estar en caché)
+     */
+    public Computador aplicar(Computador computador) {
+        Integer stock = pendientes.get(computador.getId());
+        if (stock == null) {
+            return computador;
+        }
+        Computador copia = new Computador(computador.getMarca(), computador.getModelo(),
+                computador.getProcesador(), computador.getMemoriaRam(), computador.getAlmacenamiento(),
+                computador.getPrecio(), stock);
+        copia.setId(computador.getId());
+        copia.setFechaCreacion(computador.getFechaCreacion());
+        copia.setVersion(computador.getVersion());
+        copia.calcularEspecificaciones();
+        return copia;
+    }
+
+    /**
+     * Listado con el stock pendiente aplicado; sin pendientes devuelve la misma lista
+     */
+    public List<ComputadorResumen> aplicar(List<ComputadorResumen> computadores) {
+        if (pendientes.isEmpty()) {
+            return computadores;
+        }
+        List<ComputadorResumen> resultado = new ArrayList<>(computadores.size());
+        for (ComputadorResumen computador : computadores) {
+            Integer stock = pendientes.get(computador.id());
+            resultado.add(stock == null ? computador : computador.conStock(stock));
+        }
+        return resultado;
+    }
+
+    public ComputadorResumen aplicar(ComputadorResumen computador) {
+        Integer stock = pendientes.isEmpty() ? null : pendientes.get(computador.id());
+        return stock == null ? computador : computador.conStock(stock);
+    }
+
+    /**
+     * Escribir ya los pendientes de estos computadores. Se llama antes de cualquier otra escritura
+     * de su stock (reservas, lotes, actualización completa) para que un valor diferido no la pise después.
+     */
+    public void descargar(Collection<Long> ids) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        escritura.lock();
+        try {
+            Map<Long, Integer> tomados = new HashMap<>();
+            for (Long id : ids) {
+                Integer stock = pendientes.get(id);
+                if (stock != null) {
+                    tomados.put(id, stock);
+                }
+            }
+            escribir(tomados);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Escribir todos los pendientes; devuelve la cantidad de computadores actualizados
+     */
+    public int descargar() {
+        escritura.lock();
+        try {
+            return escribir(new HashMap<>(pendientes));
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void descargarProgramado() {
+        descargaPendiente.set(false);
+        try {
+            descargar();
+        } catch (RuntimeException e) {
+            // Los valores siguen pendientes; se reintenta en la próxima descarga
+            log.warn("No se pudo escribir el stock diferido de {} computadores", pendientes.size(), e);
+        }
+    }
+
+    private int escribir(Map<Long, Integer> tomados) {
+        if (tomados.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> filas = new ArrayList<>(tomados.size());
+        tomados.forEach((id, stock) -> filas.add(new Object[]{stock, id}));
+
+        transaccion.executeWithoutResult(estado -> {
+            jdbcTemplate.batchUpdate(UPDATE_STOCK, filas);
+            // Un evento por computador y descarga (caché, índices, feed de cambios), publicado después del commit
+            List<Long> ids = new ArrayList<>(tomados.keySet());
+            for (int i = 0; i < ids.size(); i += 1000) {
+                computadorRepository.findAllById(ids.subList(i, Math.min(i + 1000, ids.size())))
+                        .forEach(computador -> eventPublisher.publishEvent(ComputadorEvento.stock(computador)));
+            }
+        });
+
+        // Solo se quitan los valores escritos; uno más nuevo recibido mientras tanto queda para la próxima
+        tomados.forEach(pendientes::remove);
+        escritas.increment(tomados.size());
+        return tomados.size();
+    }
+
+    @Override
+    public void start() {
+        if (!habilitada) {
+            return;
+        }
+        descargador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "stock-diferido");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        descargador.scheduleWithFixedDelay(this::descargarProgramado,
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        enMarcha = true;
+    }
+
+    /**
+     * Al detener la aplicación se escriben los pendientes. Se ejecuta después de que el servidor web
+     * deja de recibir peticiones y antes de destruir los beans, con la base de datos y los oyentes
+     * de eventos todavía disponibles. Un cambio que llegue igual (una petición que termina tarde)
+     * se escribe en el momento.
+     */
+    @Override
+    public void stop() {
+        if (descargador == null) {
+            return;
+        }
+        enMarcha = false;
+        descargador.shutdown();
+        try {
+            descargador.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        descargador = null;
+        int escritos = descargar();
+        if (escritos > 0) {
+            log.info("Stock diferido de {} computadores escrito al detener la aplicación", escritos);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return enMarcha;
+    }
+
+    @Override
+    public int getPhase() {
+        // Estrictamente menor que la fase del servidor web (DEFAULT_PHASE - 2048 en Spring Boot 3.2):
+        // con la misma fase el orden de parada no está garantizado
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
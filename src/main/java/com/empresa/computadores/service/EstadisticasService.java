@@ -0,0 +1,104 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.ConteoPorCapacidad;
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.repository.ComputadorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estadísticas del catálogo calculadas con agregados SQL (sin cargar entidades).
+ * El resultado se conserva en memoria hasta el siguiente cambio confirmado del catálogo.
+ */
+@Service
+public class EstadisticasService {
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    @Autowired
+    private IndiceRangos indiceRangos;
+
+    @Value("${computadores.stock.umbral-bajo:5}")
+    private int umbralStockBajo;
+
+    private volatile Map<String, Object> estadisticas;
+
+    // Evita guardar un cálculo que empezó antes del último cambio
+    private final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Obtener las estadísticas; solo se consulta la base de datos si el catálogo cambió
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> actuales = estadisticas;
+        if (actuales == null) {
+            long generacionInicial = generacion.get();
+            actuales = calcular();
+            if (generacion.get() == generacionInicial) {
+                estadisticas = actuales;
+            }
+        }
+        return actuales;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        invalidar();
+    }
+
+    @EventListener(CatalogoReemplazado.class)
+    public void invalidar() {
+        generacion.incrementAndGet();
+        estadisticas = null;
+    }
+
+    private Map<String, Object> calcular() {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("totalComputadores", computadorRepository.count());
+        resultado.put("computadoresConStockBajo", indiceRangos.estaListo()
+                ? indiceRangos.contarStock(Integer.MIN_VALUE, umbralStockBajo - 1L)
+                : computadorRepository.countByStockLessThan(umbralStockBajo));
+        resultado.put("unidadesEnStock", computadorRepository.sumarUnidades());
+        resultado.put("valorInventario", computadorRepository.sumarValorInventario());
+        resultado.put("porMarca", computadorRepository.obtenerEstadisticasPorMarca());
+        resultado.put("histogramaMemoriaRam", histograma(computadorRepository.contarPorRamGb()));
+        resultado.put("histogramaAlmacenamiento", histograma(computadorRepository.contarPorAlmacenamientoGb()));
+        return Collections.unmodifiableMap(resultado);
+    }
+
+    // Claves "8GB", "1TB"... en orden de capacidad; las especificaciones sin interpretar van al final
+    private static Map<String, Long> histograma(List<ConteoPorCapacidad> conteos) {
+        Map<String, Long> histograma = new LinkedHashMap<>();
+        Long sinEspecificar = null;
+        for (ConteoPorCapacidad conteo : conteos) {
+            if (conteo.getGb() == null) {
+                sinEspecificar = conteo.getCantidad();
+            } else {
+                histograma.put(etiqueta(conteo.getGb()), conteo.getCantidad());
+            }
+        }
+        if (sinEspecificar != null) {
+            histograma.put("Sin especificar", sinEspecificar);
+        }
+        return histograma;
+    }
+
+    private static String etiqueta(int gb) {
+        return gb >= 1024 && gb % 1024 == 0 ? gb / 1024 + "TB" : gb + "GB";
+    }
+}
@@ -0,0 +1,405 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.event.ComputadorEvento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de cambios del catálogo por Server-Sent Events.
+ * Los eventos confirmados se serializan una sola vez y se guardan en un buffer circular acotado;
+ * cada suscriptor solo guarda la posición del último evento que recibió, así que lo que tiene
+ * pendiente nunca supera el buffer. Las escrituras son no bloqueantes (E/S asíncrona de Servlet): se
+ * escribe mientras la conexión acepte datos y el envío sigue cuando el contenedor avisa que vuelve a
+ * aceptarlos. Un cliente lento no frena a los demás, y si no acepta datos durante
+ * computadores.feed.tiempo-maximo-envio se lo desconecta.
+ */
+@Component
+public class FeedCambios {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedCambios.class);
+
+    static final String EVENTO_REINICIO = "reinicio";
+
+    private static final byte[] LATIDO = ":latido\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Evento ya convertido al formato text/event-stream, compartido por todos los suscriptores
+     */
+    private record Cambio(long secuencia, byte[] marco) {
+    }
+
+    /**
+     * Conexión abierta. La escriben el hilo despachador y los hilos del contenedor (onWritePossible),
+     * nunca dos a la vez y sin bloquearse esperando al cliente.
+     */
+    private final class Suscriptor implements WriteListener, AsyncListener {
+        private final AsyncContext contexto;
+        private final ServletOutputStream salida;
+        private volatile long ultimaSecuencia;
+        private volatile boolean reiniciar;
+        private volatile boolean latidoPendiente = true;
+        // Momento (nanoTime) desde el que la conexión no acepta datos; 0 si los acepta
+        private volatile long bloqueadoDesde;
+        private volatile boolean envioPedido;
+        private volatile boolean cerrado;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Suscriptor(AsyncContext contexto, ServletOutputStream salida, long ultimaSecuencia, boolean reiniciar) {
+            this.contexto = contexto;
+            this.salida = salida;
+            this.ultimaSecuencia = ultimaSecuencia;
+            this.reiniciar = reiniciar;
+        }
+
+        /**
+         * Escribir lo pendiente sin bloquear. Si otro hilo ya está escribiendo, se le deja el pedido
+         * y lo atiende al terminar.
+         */
+        void enviar() {
+            envioPedido = true;
+            while (envioPedido && enviando.compareAndSet(false, true)) {
+                envioPedido = false;
+                try {
+                    escribirPendientes();
+                } catch (IOException | IllegalStateException e) {
+                    // El cliente se desconectó
+                    cerrar();
+                } finally {
+                    enviando.set(false);
+                }
+            }
+        }
+
+        private void escribirPendientes() throws IOException {
+            if (cerrado) {
+                return;
+            }
+            long hasta = secuenciaActual();
+            boolean sinVaciar = false;
+            while (salida.isReady()) {
+                bloqueadoDesde = 0;
+                byte[] marco = siguienteMarco(hasta);
+                if (marco == null) {
+                    if (!sinVaciar) {
+                        return;
+                    }
+                    // El vaciado puede quedar a medias; entonces isReady() es false y sigue onWritePossible
+                    salida.flush();
+                    sinVaciar = false;
+                    continue;
+                }
+                salida.write(marco);
+                sinVaciar = true;
+            }
+            if (bloqueadoDesde == 0) {
+                bloqueadoDesde = System.nanoTime();
+            }
+        }
+
+        private byte[] siguienteMarco(long hasta) {
+            if (!reiniciar && hasta - ultimaSecuencia > buffer.length) {
+                // Se quedó atrás más de lo que guarda el buffer: debe recargar en lugar de recibir eventos sueltos
+                reiniciar = true;
+            }
+            if (reiniciar) {
+                reiniciar = false;
+                latidoPendiente = false;
+                ultimaSecuencia = hasta;
+                return marco(idEvento(hasta), EVENTO_REINICIO, "{}");
+            }
+            if (ultimaSecuencia < hasta) {
+                Cambio cambio;
+                synchronized (buffer) {
+                    cambio = buffer[(int) ((ultimaSecuencia + 1) % buffer.length)];
+                }
+                if (cambio == null || cambio.secuencia() != ultimaSecuencia + 1) {
+                    // El buffer se sobrescribió mientras se enviaba
+                    reiniciar = true;
+                    return siguienteMarco(hasta);
+                }
+                latidoPendiente = false;
+                ultimaSecuencia = cambio.secuencia();
+                return cambio.marco();
+            }
+            if (latidoPendiente) {
+                latidoPendiente = false;
+                return LATIDO;
+            }
+            return null;
+        }
+
+        void cerrar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            suscriptores.remove(this);
+            try {
+                contexto.complete();
+            } catch (IllegalStateException e) {
+                // Ya estaba completado
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            enviar();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            cerrar();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            cerrado = true;
+            suscriptores.remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+            cerrar();
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            cerrar();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cambio[] buffer;
+    private final long timeoutMillis;
+    private final long tiempoMaximoEnvioNanos;
+    private final int maximoSuscriptores;
+    private final Counter desconectadosPorLentitud;
+
+    // Los IDs de evento llevan el arranque del servidor: un ID de otro arranque obliga a recargar
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private long ultimaSecuencia = 0;
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean despachoPendiente = new AtomicBoolean();
+    private final ScheduledExecutorService despachador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "feed-cambios");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public FeedCambios(ObjectMapper objectMapper,
+                       @Value("${computadores.feed.tamano-buffer:1024}") int tamanoBuffer,
+                       @Value("${computadores.feed.timeout:30m}") Duration timeout,
+                       @Value("${computadores.feed.latido:20s}") Duration latido,
+                       @Value("${computadores.feed.tiempo-maximo-envio:10s}") Duration tiempoMaximoEnvio,
+                       @Value("${computadores.feed.maximo-suscriptores:5000}") int maximoSuscriptores,
+                       MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.buffer = new Cambio[tamanoBuffer];
+        this.timeoutMillis = timeout.toMillis();
+        this.tiempoMaximoEnvioNanos = tiempoMaximoEnvio.toNanos();
+        this.maximoSuscriptores = maximoSuscriptores;
+        Gauge.builder("computadores.feed.suscriptores", suscriptores, Set::size)
+                .description("Conexiones abiertas al feed de cambios")
+                .register(meterRegistry);
+        this.desconectadosPorLentitud = Counter.builder("computadores.feed.desconectados")
+                .description("Suscriptores desconectados por no aceptar datos a tiempo")
+                .register(meterRegistry);
+        // Un comentario periódico mantiene viva la conexión a través de proxies y detecta clientes caídos
+        despachador.scheduleAtFixedRate(this::enviarLatido, latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+        despachador.scheduleAtFixedRate(this::desconectarLentos, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registrar un suscriptor: la respuesta pasa a modo asíncrono y queda abierta hasta el timeout.
+     * Con el ID del último evento recibido se reenvían los eventos posteriores que sigan en el buffer;
+     * si ya no están, se envía un evento "reinicio".
+     */
+    public void suscribir(HttpServletRequest request, HttpServletResponse response, String ultimoEventoId)
+            throws IOException {
+        if (suscriptores.size() >= maximoSuscriptores) {
+            throw new RuntimeException("Se alcanzó el máximo de suscriptores al feed de cambios");
+        }
+
+        long desde;
+        boolean reiniciar = false;
+        synchronized (buffer) {
+            desde = ultimaSecuencia;
+            if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+                Long secuencia = secuenciaDe(ultimoEventoId);
+                long masAntigua = Math.max(1, ultimaSecuencia - buffer.length + 1);
+                if (secuencia == null || secuencia > ultimaSecuencia || secuencia + 1 < masAntigua) {
+                    reiniciar = true;
+                } else {
+                    desde = secuencia;
+                }
+            }
+        }
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext contexto = request.startAsync();
+        contexto.setTimeout(timeoutMillis);
+        Suscriptor suscriptor = new Suscriptor(contexto, response.getOutputStream(), desde, reiniciar);
+        contexto.addListener(suscriptor);
+        // El contenedor llama a onWritePossible en cuanto se puede escribir: envía el primer latido
+        // (los encabezados) y lo que haya pendiente. El despachador solo lo ve con el modo no
+        // bloqueante ya activado.
+        suscriptor.salida.setWriteListener(suscriptor);
+        suscriptores.add(suscriptor);
+        if (suscriptor.cerrado) {
+            suscriptores.remove(suscriptor);
+        }
+    }
+
+    public int contarSuscriptores() {
+        return suscriptores.size();
+    }
+
+    /**
+     * Publicar cada cambio confirmado del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        String datos;
+        try {
+            datos = evento.getComputador() != null
+                    ? objectMapper.writeValueAsString(evento.getComputador())
+                    : objectMapper.writeValueAsString(Map.of("id", evento.getId()));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el evento {} del computador {}", evento.getTipo(), evento.getId(), e);
+            return;
+        }
+        publicar(evento.getTipo().name().toLowerCase(Locale.ROOT), datos);
+    }
+
+    /**
+     * Pedir a todos los clientes que recarguen el catálogo completo (después de importar una
+     * instantánea, cuando los índices ya se reconstruyeron). El "reinicio" ocupa su lugar en el
+     * buffer para que también lo reciba quien se reconecte después.
+     */
+    public void reiniciarClientes() {
+        publicar(EVENTO_REINICIO, "{}");
+    }
+
+    private void publicar(String nombre, String datos) {
+        synchronized (buffer) {
+            ultimaSecuencia++;
+            buffer[(int) (ultimaSecuencia % buffer.length)] =
+                    new Cambio(ultimaSecuencia, marco(idEvento(ultimaSecuencia), nombre, datos));
+        }
+        programarDespacho();
+    }
+
+    // Varias publicaciones seguidas se atienden con una sola pasada del despachador
+    private void programarDespacho() {
+        if (despachoPendiente.compareAndSet(false, true)) {
+            despachador.execute(this::despachar);
+        }
+    }
+
+    // Ninguna escritura bloquea: una pasada cuesta lo mismo con clientes rápidos o lentos
+    private void despachar() {
+        despachoPendiente.set(false);
+        for (Suscriptor suscriptor : suscriptores) {
+            suscriptor.enviar();
+        }
+    }
+
+    private void enviarLatido() {
+        for (Suscriptor suscriptor : suscriptores) {
+            suscriptor.latidoPendiente = true;
+            suscriptor.enviar();
+        }
+    }
+
+    private void desconectarLentos() {
+        long ahora = System.nanoTime();
+        for (Suscriptor suscriptor : suscriptores) {
+            long desde = suscriptor.bloqueadoDesde;
+            if (desde != 0 && ahora - desde > tiempoMaximoEnvioNanos) {
+                log.debug("Se desconecta un suscriptor del feed que no acepta datos hace {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(ahora - desde));
+                desconectadosPorLentitud.increment();
+                suscriptor.cerrar();
+            }
+        }
+    }
+
+    private long secuenciaActual() {
+        synchronized (buffer) {
+            return ultimaSecuencia;
+        }
+    }
+
+    // Un evento text/event-stream: cada línea de los datos va en su propio campo "data:"
+    private static byte[] marco(String id, String nombre, String datos) {
+        StringBuilder texto = new StringBuilder(datos.length() + 64);
+        texto.append("id:").append(id).append('\n');
+        texto.append("event:").append(nombre).append('\n');
+        for (String linea : datos.split("\n", -1)) {
+            texto.append("data:").append(linea).append('\n');
+        }
+        texto.append('\n');
+        return texto.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String idEvento(long secuencia) {
+        return arranque + "-" + secuencia;
+    }
+
+    // null si el ID no pertenece a este arranque del servidor
+    private Long secuenciaDe(String idEvento) {
+        int separador = idEvento.lastIndexOf('-');
+        if (separador < 0 || !idEvento.substring(0, separador).equals(arranque)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(idEvento.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        despachador.shutdownNow();
+        suscriptores.forEach(Suscriptor::cerrar);
+        suscriptores.clear();
+    }
+}
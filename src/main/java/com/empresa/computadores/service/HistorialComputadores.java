@@ -0,0 +1,452 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historial de precio y stock de los computadores.
+ * Cada cambio (alta, actualización, stock) agrega una fila a historial_computadores dentro de la
+ * misma transacción que lo produjo: las filas de una transacción se insertan juntas con un lote JDBC
+ * justo antes del commit, con la hora de la base de datos. Un hilo propio pliega cada "intervalo"
+ * las filas nuevas en el resumen diario (historial_diario), partiendo del último evento procesado,
+ * así que las consultas por ventana de días leen el resumen y nunca recorren el historial completo.
+ * Solo se pliegan filas ya confirmadas (las visibles); los IDs salteados porque su transacción
+ * todavía no terminaba quedan en historial_huecos y se pliegan cuando aparecen.
+ */
+@Component
+public class HistorialComputadores implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorialComputadores.class);
+
+    private static final String INSERT_EVENTO =
+            "INSERT INTO historial_computadores (computador_id, fecha, precio, stock) VALUES (?, CURRENT_TIMESTAMP, ?, ?)";
+
+    // El bloqueo de la fila serializa los plegados de varias instancias
+    private static final String SELECT_PROCESADO =
+            "SELECT ultimo_evento FROM historial_procesado WHERE id = 1 FOR UPDATE";
+
+    private static final String UPDATE_PROCESADO =
+            "UPDATE historial_procesado SET ultimo_evento = ? WHERE id = 1";
+
+    private static final String SELECT_NUEVOS =
+            "SELECT id, computador_id, fecha, precio, stock FROM historial_computadores " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String DELETE_HUECOS_VENCIDOS =
+            "DELETE FROM historial_huecos WHERE expira < CURRENT_TIMESTAMP";
+
+    private static final String SELECT_HUECOS = "SELECT desde, hasta FROM historial_huecos ORDER BY desde";
+
+    private static final String SELECT_EN_HUECOS =
+            "SELECT h.id, h.computador_id, h.fecha, h.precio, h.stock FROM historial_huecos g " +
+            "JOIN historial_computadores h ON h.id BETWEEN g.desde AND g.hasta ORDER BY h.id";
+
+    private static final String INSERT_HUECO =
+            "INSERT INTO historial_huecos (desde, hasta, expira) " +
+            "VALUES (?, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))";
+
+    private static final String UPDATE_HUECO = "UPDATE historial_huecos SET hasta = ? WHERE desde = ?";
+
+    private static final String DELETE_HUECO = "DELETE FROM historial_huecos WHERE desde = ?";
+
+    // Un hueco partido por un evento que apareció conserva el vencimiento del original
+    private static final String INSERT_RESTO_HUECO =
+            "INSERT INTO historial_huecos (desde, hasta, expira) " +
+            "SELECT ?, ?, expira FROM historial_huecos WHERE desde = ?";
+
+    // Último día resumido de cada computador: el estado del que parten los eventos nuevos
+    private static final String SELECT_ULTIMOS_RESUMENES =
+            "SELECT d.computador_id, d.dia, d.precio_apertura, d.precio_cierre, d.precio_minimo, d.precio_maximo, " +
+            "d.stock_cierre, d.unidades_salida, d.unidades_entrada, d.cambios FROM historial_diario d " +
+            "WHERE d.computador_id IN (%s) AND d.dia = " +
+            "(SELECT MAX(m.dia) FROM historial_diario m WHERE m.computador_id = d.computador_id)";
+
+    private static final String INSERT_RESUMEN =
+            "INSERT INTO historial_diario (precio_apertura, precio_cierre, precio_minimo, precio_maximo, " +
+            "stock_cierre, unidades_salida, unidades_entrada, cambios, computador_id, dia) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_RESUMEN =
+            "UPDATE historial_diario SET precio_apertura = ?, precio_cierre = ?, precio_minimo = ?, " +
+            "precio_maximo = ?, stock_cierre = ?, unidades_salida = ?, unidades_entrada = ?, cambios = ? " +
+            "WHERE computador_id = ? AND dia = ?";
+
+    /**
+     * Un evento leído del historial
+     */
+    private record Evento(long id, long computadorId, LocalDateTime fecha, double precio, int stock) {
+    }
+
+    /**
+     * Resumen de un computador en un día mientras se pliegan los eventos
+     */
+    private static final class Resumen {
+        private final long computadorId;
+        private final LocalDate dia;
+        private final boolean existente;
+        private double apertura;
+        private double cierre;
+        private double minimo;
+        private double maximo;
+        private int stock;
+        private int salida;
+        private int entrada;
+        private int cambios;
+
+        private Resumen(long computadorId, LocalDate dia, boolean existente) {
+            this.computadorId = computadorId;
+            this.dia = dia;
+            this.existente = existente;
+        }
+
+        private Object[] parametros() {
+            return new Object[]{apertura, cierre, minimo, maximo, stock, salida, entrada, cambios,
+                    computadorId, Date.valueOf(dia)};
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Duration intervalo;
+    private final Duration esperaHuecos;
+    private final int tamanoLote;
+    private final int tamanoLoteIds;
+    private final TransactionTemplate transaccion;
+    private final Counter registrados;
+    private final Counter plegados;
+    private volatile ScheduledExecutorService plegador;
+
+    public HistorialComputadores(
+            @Value("${computadores.historial.intervalo-resumen:10s}") Duration intervalo,
+            @Value("${computadores.historial.espera-huecos:10m}") Duration esperaHuecos,
+            @Value("${computadores.historial.tamano-lote:5000}") int tamanoLote,
+            @Value("${computadores.busqueda.tamano-lote-ids:1000}") int tamanoLoteIds,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.intervalo = intervalo;
+        this.esperaHuecos = esperaHuecos;
+        this.tamanoLote = tamanoLote;
+        this.tamanoLoteIds = tamanoLoteIds;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.registrados = Counter.builder("computadores.historial.eventos")
+                .description("Filas agregadas al historial de precio y stock")
+                .register(meterRegistry);
+        this.plegados = Counter.builder("computadores.historial.plegados")
+                .description("Eventos del historial incluidos en el resumen diario")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Anotar el estado del computador después del cambio. Se escucha al publicarse el evento, todavía
+     * dentro de la transacción; las filas se insertan antes del commit, así que un cambio revertido
+     * no deja historial y uno confirmado siempre lo deja.
+     */
+    @EventListener
+    public void alCambiarComputador(ComputadorEvento evento) {
+        Computador computador = evento.getComputador();
+        if (computador == null) {
+            // Eliminado: el historial anterior se conserva
+            return;
+        }
+        Object[] fila = {computador.getId(), computador.getPrecio(), computador.getStock()};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertar(List.<Object[]>of(fila));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> pendientes = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            List<Object[]> nuevas = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insertar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(HistorialComputadores.this);
+                }
+            });
+            pendientes = nuevas;
+        }
+        pendientes.add(fila);
+    }
+
+    // La fecha es CURRENT_TIMESTAMP al insertar, justo antes del commit: la hora de la base de datos,
+    // la misma para todas las instancias
+    private void insertar(List<Object[]> filas) {
+        jdbcTemplate.batchUpdate(INSERT_EVENTO, filas);
+        registrados.increment(filas.size());
+    }
+
+    /**
+     * Plegar en historial_diario los eventos nuevos y los que llenaron huecos; devuelve la cantidad
+     * de eventos procesados.
+     */
+    public long actualizarResumenes() {
+        long total = 0;
+        while (true) {
+            int[] procesados = transaccion.execute(estado -> plegarLote());
+            total += procesados[0] + procesados[1];
+            if (procesados[0] < tamanoLote) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Un lote: los eventos visibles después del último procesado (todos confirmados) y los que
+     * aparecieron en huecos anteriores. Los IDs salteados entre los nuevos se anotan como huecos.
+     * Los nuevos se leen primero: dos cambios del mismo computador se confirman en orden (el primero
+     * retiene la fila del computador hasta su commit), así que si el segundo ya se ve entre los nuevos,
+     * la consulta de huecos posterior ve el primero y se pliegan en orden.
+     * Devuelve {eventos nuevos, eventos de huecos}.
+     */
+    private int[] plegarLote() {
+        long ultimoProcesado = jdbcTemplate.queryForObject(SELECT_PROCESADO, Long.class);
+        List<Evento> nuevos = jdbcTemplate.query(SELECT_NUEVOS, this::leerEvento, ultimoProcesado, tamanoLote);
+        jdbcTemplate.update(DELETE_HUECOS_VENCIDOS);
+        List<Evento> tardios = jdbcTemplate.query(SELECT_EN_HUECOS, this::leerEvento);
+        if (nuevos.isEmpty() && tardios.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        if (!tardios.isEmpty()) {
+            quitarDeHuecos(tardios);
+        }
+        anotarHuecos(ultimoProcesado, nuevos);
+
+        List<Evento> eventos = new ArrayList<>(tardios.size() + nuevos.size());
+        eventos.addAll(tardios);
+        eventos.addAll(nuevos);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        eventos.forEach(evento -> ids.add(evento.computadorId()));
+        Map<Long, Resumen> ultimos = cargarUltimosResumenes(new ArrayList<>(ids));
+
+        Map<String, Resumen> modificados = new LinkedHashMap<>();
+        for (Evento evento : eventos) {
+            Resumen anterior = ultimos.get(evento.computadorId());
+            // Dos transacciones concurrentes pueden insertar en orden inverso a sus fechas; un día nunca retrocede
+            LocalDate dia = evento.fecha().toLocalDate();
+            if (anterior != null && dia.isBefore(anterior.dia)) {
+                dia = anterior.dia;
+            }
+            if (anterior != null && anterior.cierre == evento.precio() && anterior.stock == evento.stock()) {
+                // Actualización sin cambio de precio ni de stock
+                continue;
+            }
+            Resumen resumen = anterior != null && anterior.dia.equals(dia) ? anterior : abrir(evento, dia, anterior);
+            aplicar(resumen, evento, anterior);
+            ultimos.put(evento.computadorId(), resumen);
+            modificados.put(evento.computadorId() + "/" + dia, resumen);
+        }
+
+        List<Object[]> inserciones = new ArrayList<>();
+        List<Object[]> actualizaciones = new ArrayList<>();
+        for (Resumen resumen : modificados.values()) {
+            (resumen.existente ? actualizaciones : inserciones).add(resumen.parametros());
+        }
+        if (!actualizaciones.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_RESUMEN, actualizaciones);
+        }
+        if (!inserciones.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_RESUMEN, inserciones);
+        }
+        if (!nuevos.isEmpty()) {
+            jdbcTemplate.update(UPDATE_PROCESADO, nuevos.get(nuevos.size() - 1).id());
+        }
+        plegados.increment(eventos.size());
+        return new int[]{nuevos.size(), tardios.size()};
+    }
+
+    private Evento leerEvento(ResultSet fila, int numero) throws SQLException {
+        return new Evento(
+                fila.getLong("id"),
+                fila.getLong("computador_id"),
+                fila.getTimestamp("fecha").toLocalDateTime(),
+                fila.getDouble("precio"),
+                fila.getInt("stock"));
+    }
+
+    // Cada salto entre IDs consecutivos de los nuevos es un hueco que se vuelve a revisar hasta que vence
+    private void anotarHuecos(long ultimoProcesado, List<Evento> nuevos) {
+        List<Object[]> huecos = new ArrayList<>();
+        long anterior = ultimoProcesado;
+        for (Evento evento : nuevos) {
+            if (evento.id() > anterior + 1) {
+                huecos.add(new Object[]{anterior + 1, evento.id() - 1, esperaHuecos.toSeconds()});
+            }
+            anterior = evento.id();
+        }
+        if (!huecos.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HUECO, huecos);
+        }
+    }
+
+    // Los IDs que aparecieron dejan de ser hueco: cada hueco se recorta o se parte alrededor de ellos
+    private void quitarDeHuecos(List<Evento> tardios) {
+        List<long[]> huecos = jdbcTemplate.query(SELECT_HUECOS,
+                (fila, numero) -> new long[]{fila.getLong("desde"), fila.getLong("hasta")});
+        int siguiente = 0;
+        for (long[] hueco : huecos) {
+            long desde = hueco[0];
+            long hasta = hueco[1];
+            List<Long> aparecidos = new ArrayList<>();
+            while (siguiente < tardios.size() && tardios.get(siguiente).id() <= hasta) {
+                if (tardios.get(siguiente).id() >= desde) {
+                    aparecidos.add(tardios.get(siguiente).id());
+                }
+                siguiente++;
+            }
+            if (aparecidos.isEmpty()) {
+                continue;
+            }
+            // Primero los tramos después de cada ID aparecido (copian el vencimiento de la fila original),
+            // después el tramo inicial, que reutiliza la fila original o la borra si quedó vacío
+            for (int i = 0; i < aparecidos.size(); i++) {
+                long inicio = aparecidos.get(i) + 1;
+                long fin = i + 1 < aparecidos.size() ? aparecidos.get(i + 1) - 1 : hasta;
+                if (inicio <= fin) {
+                    jdbcTemplate.update(INSERT_RESTO_HUECO, inicio, fin, desde);
+                }
+            }
+            if (aparecidos.get(0) > desde) {
+                jdbcTemplate.update(UPDATE_HUECO, aparecidos.get(0) - 1, desde);
+            } else {
+                jdbcTemplate.update(DELETE_HUECO, desde);
+            }
+        }
+    }
+
+    // El día empieza con el precio y el stock con que cerró el último día con cambios
+    private static Resumen abrir(Evento evento, LocalDate dia, Resumen anterior) {
+        Resumen resumen = new Resumen(evento.computadorId(), dia, false);
+        double precioInicial = anterior != null ? anterior.cierre : evento.precio();
+        resumen.apertura = precioInicial;
+        resumen.cierre = precioInicial;
+        resumen.minimo = precioInicial;
+        resumen.maximo = precioInicial;
+        resumen.stock = anterior != null ? anterior.stock : evento.stock();
+        return resumen;
+    }
+
+    private static void aplicar(Resumen resumen, Evento evento, Resumen anterior) {
+        // El primer evento de un computador solo fija la línea base del stock
+        if (anterior != null) {
+            int diferencia = evento.stock() - resumen.stock;
+            if (diferencia < 0) {
+                resumen.salida -= diferencia;
+            } else {
+                resumen.entrada += diferencia;
+            }
+        }
+        resumen.cierre = evento.precio();
+        resumen.minimo = Math.min(resumen.minimo, evento.precio());
+        resumen.maximo = Math.max(resumen.maximo, evento.precio());
+        resumen.stock = evento.stock();
+        resumen.cambios++;
+    }
+
+    private Map<Long, Resumen> cargarUltimosResumenes(List<Long> ids) {
+        Map<Long, Resumen> ultimos = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += tamanoLoteIds) {
+            List<Long> lote = ids.subList(i, Math.min(i + tamanoLoteIds, ids.size()));
+            String marcadores = String.join(", ", Collections.nCopies(lote.size(), "?"));
+            jdbcTemplate.query(String.format(SELECT_ULTIMOS_RESUMENES, marcadores), fila -> {
+                Resumen resumen = new Resumen(fila.getLong("computador_id"),
+                        fila.getDate("dia").toLocalDate(), true);
+                resumen.apertura = fila.getDouble("precio_apertura");
+                resumen.cierre = fila.getDouble("precio_cierre");
+                resumen.minimo = fila.getDouble("precio_minimo");
+                resumen.maximo = fila.getDouble("precio_maximo");
+                resumen.stock = fila.getInt("stock_cierre");
+                resumen.salida = fila.getInt("unidades_salida");
+                resumen.entrada = fila.getInt("unidades_entrada");
+                resumen.cambios = fila.getInt("cambios");
+                ultimos.put(resumen.computadorId, resumen);
+            }, lote.toArray());
+        }
+        return ultimos;
+    }
+
+    private void plegarProgramado() {
+        try {
+            long procesados = actualizarResumenes();
+            if (procesados > 0) {
+                log.debug("Resumen diario actualizado con {} eventos del historial", procesados);
+            }
+        } catch (RuntimeException e) {
+            // El último evento procesado no avanzó: se reintenta en el próximo intervalo
+            log.warn("No se pudo actualizar el resumen diario del historial", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        plegador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "historial-resumen");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        plegador.scheduleWithFixedDelay(this::plegarProgramado,
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (plegador == null) {
+            return;
+        }
+        plegador.shutdown();
+        try {
+            plegador.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        plegador = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return plegador != null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.CoberturaStock;
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.dto.EventoHistorial;
+import com.empresa.computadores.dto.ResumenDiario;
+import com.empresa.computadores.model.Computador;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consultas por ventana de días sobre el historial de precio y stock: tendencia de precio,
+ * velocidad de salida del stock y días de inventario de los computadores con stock bajo.
+ * Se calculan con el resumen diario (historial_diario), no con el historial completo; los cambios
+ * de los últimos segundos aparecen cuando HistorialComputadores los pliega.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HistorialService {
+
+    private static final String SELECT_EVENTOS =
+            "SELECT fecha, precio, stock FROM historial_computadores WHERE computador_id = ? " +
+            "ORDER BY fecha DESC LIMIT ?";
+
+    private static final String SELECT_RESUMENES =
+            "SELECT dia, precio_apertura, precio_cierre, precio_minimo, precio_maximo, stock_cierre, " +
+            "unidades_salida, unidades_entrada, cambios FROM historial_diario " +
+            "WHERE computador_id = ? AND dia >= ? ORDER BY dia";
+
+    private static final String SELECT_SALIDAS =
+            "SELECT computador_id, SUM(unidades_salida) AS salida FROM historial_diario " +
+            "WHERE computador_id IN (%s) AND dia >= ? GROUP BY computador_id";
+
+    @Autowired
+    private ComputadorService computadorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${computadores.historial.dias-defecto:30}")
+    private int diasDefecto;
+
+    @Value("${computadores.historial.dias-maximo:730}")
+    private int diasMaximo;
+
+    @Value("${computadores.historial.eventos-maximo:1000}")
+    private int eventosMaximo;
+
+    @Value("${computadores.busqueda.tamano-lote-ids:1000}")
+    private int tamanoLoteIds;
+
+    /**
+     * Últimos cambios de precio y stock de un computador, del más reciente al más antiguo
+     */
+    public List<EventoHistorial> obtenerEventos(Long id, Integer limite) {
+        int cantidad = limite == null ? 100 : limite;
+        if (cantidad < 1 || cantidad > eventosMaximo) {
+            throw new RuntimeException("El límite debe estar entre 1 y " + eventosMaximo);
+        }
+        return jdbcTemplate.query(SELECT_EVENTOS, (fila, numero) -> new EventoHistorial(
+                fila.getTimestamp("fecha").toLocalDateTime(),
+                fila.getDouble("precio"),
+                fila.getInt("stock")), id, cantidad);
+    }
+
+    /**
+     * Tendencia de precio en los últimos "dias" días: un resumen por día con cambios, la variación
+     * entre la apertura del primero y el cierre del último, y la pendiente diaria (mínimos cuadrados
+     * sobre el precio de cierre). Vacío si el computador no existe.
+     */
+    public Optional<Map<String, Object>> obtenerTendenciaPrecio(Long id, Integer dias) {
+        LocalDate desde = inicioVentana(dias);
+        Optional<Computador> encontrado = computadorService.obtenerPorId(id);
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+        Computador computador = encontrado.get();
+        List<ResumenDiario> resumenes = obtenerResumenes(id, desde);
+
+        Map<String, Object> tendencia = new LinkedHashMap<>();
+        tendencia.put("id", id);
+        tendencia.put("desde", desde);
+        tendencia.put("precioActual", computador.getPrecio());
+        if (resumenes.isEmpty()) {
+            tendencia.put("variacion", 0.0);
+            tendencia.put("variacionPorcentual", 0.0);
+            tendencia.put("pendienteDiaria", 0.0);
+        } else {
+            double inicial = resumenes.get(0).precioApertura();
+            double ultimo = resumenes.get(resumenes.size() - 1).precioCierre();
+            tendencia.put("variacion", ultimo - inicial);
+            tendencia.put("variacionPorcentual", (ultimo - inicial) / inicial * 100);
+            tendencia.put("pendienteDiaria", pendiente(resumenes, desde));
+        }
+        tendencia.put("resumenes", resumenes);
+        return Optional.of(tendencia);
+    }
+
+    /**
+     * Velocidad del stock en los últimos "dias" días: unidades que salieron y entraron, salida
+     * promedio por día y días de inventario que quedan a ese ritmo. Vacío si el computador no existe.
+     */
+    public Optional<Map<String, Object>> obtenerVelocidadStock(Long id, Integer dias) {
+        LocalDate desde = inicioVentana(dias);
+        Optional<Computador> encontrado = computadorService.obtenerPorId(id);
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+        Computador computador = encontrado.get();
+        int ventana = dias == null ? diasDefecto : dias;
+        List<ResumenDiario> resumenes = obtenerResumenes(id, desde);
+
+        long salida = 0;
+        long entrada = 0;
+        for (ResumenDiario resumen : resumenes) {
+            salida += resumen.unidadesSalida();
+            entrada += resumen.unidadesEntrada();
+        }
+        double salidaDiaria = (double) salida / ventana;
+
+        Map<String, Object> velocidad = new LinkedHashMap<>();
+        velocidad.put("id", id);
+        velocidad.put("desde", desde);
+        velocidad.put("stockActual", computador.getStock());
+        velocidad.put("unidadesSalida", salida);
+        velocidad.put("unidadesEntrada", entrada);
+        velocidad.put("salidaDiaria", salidaDiaria);
+        velocidad.put("diasInventario", diasInventario(computador.getStock(), salidaDiaria));
+        velocidad.put("resumenes", resumenes);
+        return Optional.of(velocidad);
+    }
+
+    /**
+     * Días de inventario de los computadores con stock bajo (umbral como en /stock-bajo), de los que
+     * se agotan antes a los que se agotan después; los que no tuvieron salidas van al final
+     */
+    public List<CoberturaStock> obtenerCoberturaStockBajo(Integer umbral, Integer dias) {
+        LocalDate desde = inicioVentana(dias);
+        int ventana = dias == null ? diasDefecto : dias;
+        List<ComputadorResumen> computadores = computadorService.obtenerConStockBajo(umbral);
+
+        Map<Long, Long> salidas = new HashMap<>();
+        List<Long> ids = computadores.stream().map(ComputadorResumen::id).toList();
+        for (int i = 0; i < ids.size(); i += tamanoLoteIds) {
+            List<Long> lote = ids.subList(i, Math.min(i + tamanoLoteIds, ids.size()));
+            List<Object> parametros = new ArrayList<>(lote);
+            parametros.add(Date.valueOf(desde));
+            String marcadores = String.join(", ", Collections.nCopies(lote.size(), "?"));
+            jdbcTemplate.query(String.format(SELECT_SALIDAS, marcadores), fila -> {
+                salidas.put(fila.getLong("computador_id"), fila.getLong("salida"));
+            }, parametros.toArray());
+        }
+
+        List<CoberturaStock> cobertura = new ArrayList<>();
+        for (ComputadorResumen computador : computadores) {
+            double salidaDiaria = (double) salidas.getOrDefault(computador.id(), 0L) / ventana;
+            cobertura.add(new CoberturaStock(computador.id(), computador.marca(), computador.modelo(),
+                    computador.stock(), salidaDiaria, diasInventario(computador.stock(), salidaDiaria)));
+        }
+        cobertura.sort(Comparator.comparing(CoberturaStock::diasInventario,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return cobertura;
+    }
+
+    private LocalDate inicioVentana(Integer dias) {
+        int ventana = dias == null ? diasDefecto : dias;
+        if (ventana < 1 || ventana > diasMaximo) {
+            throw new RuntimeException("Los días deben estar entre 1 y " + diasMaximo);
+        }
+        return LocalDate.now().minusDays(ventana - 1L);
+    }
+
+    private List<ResumenDiario> obtenerResumenes(Long id, LocalDate desde) {
+        return jdbcTemplate.query(SELECT_RESUMENES, (fila, numero) -> new ResumenDiario(
+                fila.getDate("dia").toLocalDate(),
+                fila.getDouble("precio_apertura"),
+                fila.getDouble("precio_cierre"),
+                fila.getDouble("precio_minimo"),
+                fila.getDouble("precio_maximo"),
+                fila.getInt("stock_cierre"),
+                fila.getInt("unidades_salida"),
+                fila.getInt("unidades_entrada"),
+                fila.getInt("cambios")), id, Date.valueOf(desde));
+    }
+
+    // Pendiente de la recta de mínimos cuadrados del precio de cierre por día de la ventana
+    private static double pendiente(List<ResumenDiario> resumenes, LocalDate desde) {
+        if (resumenes.size() < 2) {
+            return 0.0;
+        }
+        double sumaX = 0;
+        double sumaY = 0;
+        double sumaXY = 0;
+        double sumaXX = 0;
+        for (ResumenDiario resumen : resumenes) {
+            double x = resumen.dia().toEpochDay() - desde.toEpochDay();
+            double y = resumen.precioCierre();
+            sumaX += x;
+            sumaY += y;
+            sumaXY += x * y;
+            sumaXX += x * x;
+        }
+        int n = resumenes.size();
+        return (n * sumaXY - sumaX * sumaY) / (n * sumaXX - sumaX * sumaX);
+    }
+
+    private static Double diasInventario(Integer stock, double salidaDiaria) {
+        return salidaDiaria > 0 ? stock / salidaDiaria : null;
+    }
+}
@@ -0,0 +1,234 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.model.Computador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de computadores desde CSV o NDJSON.
+ * Lee la entrada línea por línea y guarda en lotes, cada lote en su propia transacción.
+ */
+@Service
+public class ImportacionService {
+
+    public enum Formato {
+        CSV,
+        NDJSON
+    }
+
+    private static final List<String> COLUMNAS_CSV = List.of(
+            "marca", "modelo", "procesador", "memoriaRam", "almacenamiento", "precio", "stock");
+
+    @Autowired
+    private ComputadorService computadorService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${computadores.importacion.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * Importar computadores y devolver un reporte con los errores de cada fila rechazada
+     */
+    public Map<String, Object> importar(InputStream entrada, Formato formato) throws IOException {
+        long inicio = System.nanoTime();
+        List<Map<String, Object>> errores = new ArrayList<>();
+        Set<String> clavesVistas = new HashSet<>();
+        Map<Computador, Integer> lote = new IdentityHashMap<>();
+        int procesadas = 0;
+        int importadas = 0;
+
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Map<String, Integer> columnas = formato == Formato.CSV ? leerEncabezado(lector.readLine()) : null;
+        int linea = formato == Formato.CSV ? 1 : 0;
+
+        String texto;
+        while ((texto = lector.readLine()) != null) {
+            linea++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            procesadas++;
+
+            Computador computador;
+            try {
+                computador = formato == Formato.CSV ? leerCsv(texto, columnas) : leerNdjson(texto);
+            } catch (RuntimeException | IOException e) {
+                errores.add(error(linea, List.of("Fila con formato inválido: " + e.getMessage())));
+                continue;
+            }
+
+            Set<ConstraintViolation<Computador>> violaciones = validator.validate(computador);
+            if (!violaciones.isEmpty()) {
+                errores.add(error(linea, violaciones.stream().map(ConstraintViolation::getMessage).sorted().toList()));
+                continue;
+            }
+
+            // Deduplicar marca + modelo dentro del mismo archivo en una sola pasada
+            if (!clavesVistas.add(computador.getMarca() + '\u0000' + computador.getModelo())) {
+                errores.add(error(linea, List.of("Marca y modelo repetidos en el archivo: " +
+                        computador.getMarca() + " " + computador.getModelo())));
+                continue;
+            }
+
+            lote.put(computador, linea);
+            if (lote.size() >= tamanoLote) {
+                importadas += guardarLote(lote, errores);
+            }
+        }
+        if (!lote.isEmpty()) {
+            importadas += guardarLote(lote, errores);
+        }
+
+        errores.sort(Comparator.comparingInt(error -> (Integer) error.get("linea")));
+
+        Map<String, Object> reporte = new HashMap<>();
+        reporte.put("procesadas", procesadas);
+        reporte.put("importadas", importadas);
+        reporte.put("rechazadas", errores.size());
+        reporte.put("errores", errores);
+        reporte.put("milisegundos", (System.nanoTime() - inicio) / 1_000_000);
+        return reporte;
+    }
+
+    private int guardarLote(Map<Computador, Integer> lote, List<Map<String, Object>> errores) {
+        List<Computador> computadores = new ArrayList<>(lote.keySet());
+        int guardados;
+        try {
+            guardados = guardar(computadores, lote, errores);
+        } catch (RuntimeException e) {
+            // El lote se revirtió completo (p. ej. otra operación creó la misma marca y modelo entre la
+            // validación y el insert): se reintenta fila por fila para guardar el resto y reportar las que fallan
+            guardados = 0;
+            for (Computador computador : computadores) {
+                try {
+                    guardados += guardar(List.of(computador), lote, errores);
+                } catch (RuntimeException errorFila) {
+                    errores.add(error(lote.get(computador), List.of(errorFila.getMessage())));
+                }
+            }
+        }
+        lote.clear();
+        return guardados;
+    }
+
+    private int guardar(List<Computador> computadores, Map<Computador, Integer> lineas,
+                        List<Map<String, Object>> errores) {
+        List<Computador> rechazados = computadorService.crearLote(computadores);
+        for (Computador computador : rechazados) {
+            errores.add(error(lineas.get(computador), List.of("Ya existe un computador con la marca " +
+                    computador.getMarca() + " y modelo " + computador.getModelo())));
+        }
+        return computadores.size() - rechazados.size();
+    }
+
+    private Map<String, Integer> leerEncabezado(String encabezado) {
+        if (encabezado == null) {
+            throw new RuntimeException("El archivo CSV está vacío");
+        }
+        // Marca de orden de bytes que agregan algunos editores (Excel) al inicio del archivo UTF-8
+        if (encabezado.startsWith("\uFEFF")) {
+            encabezado = encabezado.substring(1);
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = separarCsv(encabezado);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim(), i);
+        }
+        for (String columna : COLUMNAS_CSV) {
+            if (!columnas.containsKey(columna)) {
+                throw new RuntimeException("Falta la columna '" + columna + "' en el encabezado CSV");
+            }
+        }
+        return columnas;
+    }
+
+    private Computador leerCsv(String texto, Map<String, Integer> columnas) {
+        List<String> valores = separarCsv(texto);
+        return new Computador(
+                valor(valores, columnas, "marca"),
+                valor(valores, columnas, "modelo"),
+                valor(valores, columnas, "procesador"),
+                valor(valores, columnas, "memoriaRam"),
+                valor(valores, columnas, "almacenamiento"),
+                Double.valueOf(valor(valores, columnas, "precio")),
+                Integer.valueOf(valor(valores, columnas, "stock")));
+    }
+
+    private Computador leerNdjson(String texto) throws IOException {
+        Computador computador = objectMapper.readValue(texto, Computador.class);
+        if (computador.getFechaCreacion() == null) {
+            computador.setFechaCreacion(LocalDateTime.now());
+        }
+        return computador;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> columnas, String columna) {
+        int indice = columnas.get(columna);
+        if (indice >= valores.size()) {
+            throw new RuntimeException("Falta el valor de la columna '" + columna + "'");
+        }
+        return valores.get(indice).trim();
+    }
+
+    /**
+     * Separar una línea CSV respetando campos entre comillas dobles
+     */
+    static List<String> separarCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static Map<String, Object> error(int linea, List<String> mensajes) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("linea", linea);
+        error.put("errores", mensajes);
+        return error;
+    }
+}
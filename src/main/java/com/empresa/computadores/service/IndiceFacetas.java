@@ -0,0 +1,331 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.repository.ComputadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Facetas del catálogo (marca, familia de procesador y rango de precio) como mapas de bits en memoria.
+ * Cada computador ocupa una posición densa; cada valor de faceta es un BitSet con las posiciones que
+ * lo tienen. Filtrar y contar es intersección de bits, sin consultas GROUP BY.
+ */
+@Component
+public class IndiceFacetas {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceFacetas.class);
+
+    private static final Pattern FAMILIA = Pattern.compile(
+            "^(Intel Core Ultra \\d|Intel Core i\\d|Intel Core \\d|AMD Ryzen \\d|AMD Ryzen AI|Apple M\\d)",
+            Pattern.CASE_INSENSITIVE);
+
+    public enum Faceta {
+        MARCA("marca"),
+        FAMILIA_PROCESADOR("familiaProcesador"),
+        RANGO_PRECIO("rangoPrecio");
+
+        private final String nombre;
+
+        Faceta(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    /**
+     * IDs de la página pedida (en orden), total de coincidencias y conteos por valor de cada faceta
+     */
+    public record Resultado(List<Long> pagina, boolean haySiguiente, int total,
+                            Map<String, Map<String, Integer>> facetas) {
+    }
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Faceta, Map<String, BitSet>> bitmaps = new EnumMap<>(Faceta.class);
+    private final Map<Long, Integer> posiciones = new HashMap<>();
+    private final BitSet ocupadas = new BitSet();
+    private long[] ids = new long[1024];
+    private String[][] valores = new String[1024][];
+    // Posiciones que quedaron libres al quitar computadores (pila) y primera posición nunca usada
+    private int[] libres = new int[64];
+    private int cantidadLibres = 0;
+    private int siguientePosicion = 0;
+    private volatile boolean listo = false;
+
+    private final double[] limitesPrecio;
+    private final List<String> rangosPrecio;
+
+    public IndiceFacetas(@Value("${computadores.facetas.limites-precio:500,1000,1500,2000}") double[] limitesPrecio) {
+        this.limitesPrecio = limitesPrecio.clone();
+        Arrays.sort(this.limitesPrecio);
+        this.rangosPrecio = etiquetasRangos(this.limitesPrecio);
+        for (Faceta faceta : Faceta.values()) {
+            bitmaps.put(faceta, new HashMap<>());
+        }
+    }
+
+    public boolean estaListo() {
+        return listo;
+    }
+
+    /**
+     * Construir los mapas de bits a partir de la base de datos al iniciar la aplicación y después
+     * de reemplazar el catálogo
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogoReemplazado.class})
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(Map::clear);
+            posiciones.clear();
+            ocupadas.clear();
+            cantidadLibres = 0;
+            siguientePosicion = 0;
+            try (Stream<ComputadorResumen> computadores = computadorRepository.streamTodos()) {
+                computadores.forEach(computador -> agregar(computador.id(),
+                        computador.marca(), computador.procesador(), computador.precio()));
+            }
+            listo = true;
+            log.info("Índice de facetas construido con {} computadores", posiciones.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantener los mapas de bits al día con los cambios confirmados del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        switch (evento.getTipo()) {
+            case CREADO, ACTUALIZADO -> indexar(evento.getComputador());
+            case ELIMINADO -> eliminar(evento.getId());
+            default -> {
+                // Los cambios de stock no afectan ninguna faceta
+            }
+        }
+    }
+
+    public void indexar(Computador computador) {
+        lock.writeLock().lock();
+        try {
+            quitar(computador.getId());
+            agregar(computador.getId(), computador.getMarca(), computador.getProcesador(), computador.getPrecio());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filtrar por los valores seleccionados y contar cada valor de faceta. El conteo de una faceta
+     * aplica la selección de las demás pero no la propia, para mostrar cuántos resultados daría
+     * cambiar de valor. La página contiene hasta "tamano" IDs mayores que despuesDeId.
+     */
+    public Resultado consultar(Map<Faceta, String> seleccion, long despuesDeId, int tamano) {
+        lock.readLock().lock();
+        try {
+            Map<Faceta, BitSet> filtros = new EnumMap<>(Faceta.class);
+            seleccion.forEach((faceta, valor) ->
+                    filtros.put(faceta, bitmaps.get(faceta).getOrDefault(valor, new BitSet())));
+
+            Map<String, Map<String, Integer>> facetas = new LinkedHashMap<>();
+            for (Faceta faceta : Faceta.values()) {
+                BitSet base = interseccion(filtros, faceta);
+                facetas.put(faceta.getNombre(), contar(faceta, base));
+            }
+
+            BitSet coincidentes = interseccion(filtros, null);
+            int total = coincidentes == null ? ocupadas.cardinality() : coincidentes.cardinality();
+            List<Long> pagina = pagina(coincidentes == null ? ocupadas : coincidentes, despuesDeId, tamano + 1);
+            boolean haySiguiente = pagina.size() > tamano;
+            return new Resultado(haySiguiente ? pagina.subList(0, tamano) : pagina, haySiguiente, total, facetas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Familia del procesador ("Intel Core i5-1235U" → "Intel Core i5", "AMD Ryzen 7 5700U" → "AMD Ryzen 7");
+     * si no se reconoce, las dos primeras palabras
+     */
+    static String familiaProcesador(String procesador) {
+        String texto = procesador.trim().replaceAll("\\s+", " ");
+        Matcher familia = FAMILIA.matcher(texto);
+        if (familia.find()) {
+            return familia.group(1);
+        }
+        String[] palabras = texto.split(" ");
+        return palabras.length <= 2 ? texto : palabras[0] + " " + palabras[1];
+    }
+
+    String rangoPrecio(double precio) {
+        int indice = 0;
+        while (indice < limitesPrecio.length && precio >= limitesPrecio[indice]) {
+            indice++;
+        }
+        return rangosPrecio.get(indice);
+    }
+
+    // Intersección de los filtros seleccionados, omitiendo una faceta; null si no hay ningún filtro
+    private BitSet interseccion(Map<Faceta, BitSet> filtros, Faceta omitida) {
+        BitSet resultado = null;
+        for (Map.Entry<Faceta, BitSet> filtro : filtros.entrySet()) {
+            if (filtro.getKey() == omitida) {
+                continue;
+            }
+            if (resultado == null) {
+                resultado = (BitSet) filtro.getValue().clone();
+            } else {
+                resultado.and(filtro.getValue());
+            }
+        }
+        return resultado;
+    }
+
+    private Map<String, Integer> contar(Faceta faceta, BitSet base) {
+        Map<String, Integer> conteos = new HashMap<>();
+        BitSet interseccion = new BitSet();
+        for (Map.Entry<String, BitSet> valor : bitmaps.get(faceta).entrySet()) {
+            int cantidad;
+            if (base == null) {
+                cantidad = valor.getValue().cardinality();
+            } else {
+                // AND palabra por palabra sobre un mismo BitSet auxiliar
+                interseccion.clear();
+                interseccion.or(valor.getValue());
+                interseccion.and(base);
+                cantidad = interseccion.cardinality();
+            }
+            if (cantidad > 0) {
+                conteos.put(valor.getKey(), cantidad);
+            }
+        }
+
+        Map<String, Integer> ordenados = new LinkedHashMap<>();
+        if (faceta == Faceta.RANGO_PRECIO) {
+            // Los rangos se muestran todos y en orden de precio
+            rangosPrecio.forEach(rango -> ordenados.put(rango, conteos.getOrDefault(rango, 0)));
+        } else {
+            conteos.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entrada -> ordenados.put(entrada.getKey(), entrada.getValue()));
+        }
+        return ordenados;
+    }
+
+    // Los "limite" IDs más pequeños mayores que despuesDeId, sin ordenar todo el resultado
+    private List<Long> pagina(BitSet coincidentes, long despuesDeId, int limite) {
+        PriorityQueue<Long> menores = new PriorityQueue<>(limite + 1, Comparator.reverseOrder());
+        for (int i = coincidentes.nextSetBit(0); i >= 0; i = coincidentes.nextSetBit(i + 1)) {
+            long id = ids[i];
+            if (id > despuesDeId && (menores.size() < limite || id < menores.peek())) {
+                menores.add(id);
+                if (menores.size() > limite) {
+                    menores.poll();
+                }
+            }
+        }
+        List<Long> pagina = new ArrayList<>(menores);
+        Collections.sort(pagina);
+        return pagina;
+    }
+
+    private void agregar(Long id, String marca, String procesador, Double precio) {
+        // Reutilizar una posición libre en O(1); buscarla con nextClearBit(0) hacía la reconstrucción cuadrática
+        int posicion = cantidadLibres > 0 ? libres[--cantidadLibres] : siguientePosicion++;
+        if (posicion == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            valores = Arrays.copyOf(valores, valores.length * 2);
+        }
+        String[] valoresFacetas = {marca, familiaProcesador(procesador), rangoPrecio(precio)};
+        for (Faceta faceta : Faceta.values()) {
+            bitmaps.get(faceta).computeIfAbsent(valoresFacetas[faceta.ordinal()], v -> new BitSet()).set(posicion);
+        }
+        ids[posicion] = id;
+        valores[posicion] = valoresFacetas;
+        ocupadas.set(posicion);
+        posiciones.put(id, posicion);
+    }
+
+    private void quitar(Long id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion == null) {
+            return;
+        }
+        String[] valoresFacetas = valores[posicion];
+        for (Faceta faceta : Faceta.values()) {
+            Map<String, BitSet> bitmapsFaceta = bitmaps.get(faceta);
+            BitSet bitmap = bitmapsFaceta.get(valoresFacetas[faceta.ordinal()]);
+            bitmap.clear(posicion);
+            if (bitmap.isEmpty()) {
+                bitmapsFaceta.remove(valoresFacetas[faceta.ordinal()]);
+            }
+        }
+        valores[posicion] = null;
+        ocupadas.clear(posicion);
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, libres.length * 2);
+        }
+        libres[cantidadLibres++] = posicion;
+    }
+
+    private static List<String> etiquetasRangos(double[] limites) {
+        List<String> etiquetas = new ArrayList<>();
+        String desde = "0";
+        for (double limite : limites) {
+            String hasta = formatear(limite);
+            etiquetas.add(desde + "-" + hasta);
+            desde = hasta;
+        }
+        etiquetas.add(desde + "+");
+        return etiquetas;
+    }
+
+    private static String formatear(double valor) {
+        return BigDecimal.valueOf(valor).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,585 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.repository.ComputadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índices ordenados en memoria de precio y stock para las consultas por rango y por umbral.
+ * Cada índice guarda los pares (valor, id) ordenados en dos arreglos long paralelos, sin objetos
+ * por computador: los extremos del rango se encuentran con búsqueda binaria y solo se recorren
+ * las coincidencias de la página pedida (O(log n + k)). El total sale de restar posiciones.
+ * Los cambios no se insertan uno por uno: se anotan y se aplican todos juntos con una sola mezcla
+ * antes de la siguiente consulta, así que una importación de k filas cuesta O(n + k log k) y no O(n·k).
+ */
+@Component
+public class IndiceRangos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceRangos.class);
+
+    /**
+     * Par (valor, id) a continuación del cual empieza una página
+     */
+    public record Posicion(long clave, long id) {
+    }
+
+    /**
+     * IDs de la página pedida en orden de valor (y de ID a igual valor), total de coincidencias
+     * y posición de la siguiente página (null si no hay más)
+     */
+    public record Resultado(List<Long> pagina, int total, Posicion siguiente) {
+    }
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Orden precios = new Orden();
+    private final Orden stocks = new Orden();
+    private final Tabla indexados = new Tabla();
+
+    // Computadores cambiados desde la última mezcla, con los valores que tienen en los arreglos ordenados
+    private long[] suciosIds = new long[256];
+    private long[] suciosPrecios = new long[256];
+    private long[] suciosStocks = new long[256];
+    private boolean[] suciosEnOrden = new boolean[256];
+    private int cantidadSucios;
+    private volatile boolean hayPendientes;
+
+    // Pares a quitar y a agregar en la próxima mezcla; se reutilizan entre mezclas
+    private final Orden preciosQuitados = new Orden();
+    private final Orden preciosAgregados = new Orden();
+    private final Orden stocksQuitados = new Orden();
+    private final Orden stocksAgregados = new Orden();
+
+    private volatile boolean listo = false;
+
+    public boolean estaListo() {
+        return listo;
+    }
+
+    /**
+     * Construir los índices a partir de la base de datos al iniciar la aplicación y después de
+     * reemplazar el catálogo
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogoReemplazado.class})
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            indexados.vaciar();
+            cantidadSucios = 0;
+            hayPendientes = false;
+            precios.vaciar();
+            stocks.vaciar();
+            try (Stream<ComputadorResumen> computadores = computadorRepository.streamTodos()) {
+                computadores.forEach(computador -> {
+                    long precio = clave(computador.precio());
+                    int posicion = indexados.obtenerOCrear(computador.id());
+                    indexados.guardar(posicion, precio, computador.stock());
+                    precios.anexar(precio, computador.id());
+                    stocks.anexar(computador.stock(), computador.id());
+                });
+            }
+            precios.ordenar();
+            stocks.ordenar();
+            listo = true;
+            log.info("Índices de precio y stock construidos con {} computadores", indexados.vigentes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantener los índices al día con los cambios confirmados del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        switch (evento.getTipo()) {
+            case CREADO, ACTUALIZADO, STOCK -> indexar(evento.getComputador());
+            case ELIMINADO -> eliminar(evento.getId());
+        }
+    }
+
+    public void indexar(Computador computador) {
+        long id = computador.getId();
+        long precio = clave(computador.getPrecio());
+        long stock = computador.getStock();
+        lock.writeLock().lock();
+        try {
+            int posicion = indexados.obtenerOCrear(id);
+            if (indexados.vigente(posicion) && !indexados.sucio(posicion)
+                    && indexados.precios[posicion] == precio && indexados.stocks[posicion] == stock) {
+                // Cambió otro campo: los arreglos ordenados ya están bien
+                return;
+            }
+            marcarSucio(posicion, id);
+            indexados.guardar(posicion, precio, stock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            int posicion = indexados.buscar(id);
+            if (posicion >= 0 && indexados.vigente(posicion)) {
+                marcarSucio(posicion, id);
+                indexados.descartar(posicion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // La primera vez desde la última mezcla se anotan los valores que el computador tiene en los arreglos
+    private void marcarSucio(int posicion, long id) {
+        if (indexados.sucio(posicion)) {
+            return;
+        }
+        if (cantidadSucios == suciosIds.length) {
+            int capacidad = suciosIds.length * 2;
+            suciosIds = Arrays.copyOf(suciosIds, capacidad);
+            suciosPrecios = Arrays.copyOf(suciosPrecios, capacidad);
+            suciosStocks = Arrays.copyOf(suciosStocks, capacidad);
+            suciosEnOrden = Arrays.copyOf(suciosEnOrden, capacidad);
+        }
+        boolean enOrden = indexados.vigente(posicion);
+        suciosIds[cantidadSucios] = id;
+        suciosPrecios[cantidadSucios] = enOrden ? indexados.precios[posicion] : 0;
+        suciosStocks[cantidadSucios] = enOrden ? indexados.stocks[posicion] : 0;
+        suciosEnOrden[cantidadSucios] = enOrden;
+        cantidadSucios++;
+        indexados.marcarSucio(posicion);
+        hayPendientes = true;
+    }
+
+    /**
+     * Aplicar a los arreglos ordenados los cambios anotados desde la última mezcla. Se llama antes de
+     * cada consulta; un cambio confirmado es visible en la siguiente.
+     */
+    private void aplicarPendientes() {
+        if (!hayPendientes) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < cantidadSucios; i++) {
+                long id = suciosIds[i];
+                int posicion = indexados.buscar(id);
+                boolean vigente = indexados.vigente(posicion);
+                long precio = indexados.precios[posicion];
+                long stock = indexados.stocks[posicion];
+                if (suciosEnOrden[i] && (!vigente || suciosPrecios[i] != precio)) {
+                    preciosQuitados.anexar(suciosPrecios[i], id);
+                }
+                if (vigente && (!suciosEnOrden[i] || suciosPrecios[i] != precio)) {
+                    preciosAgregados.anexar(precio, id);
+                }
+                if (suciosEnOrden[i] && (!vigente || suciosStocks[i] != stock)) {
+                    stocksQuitados.anexar(suciosStocks[i], id);
+                }
+                if (vigente && (!suciosEnOrden[i] || suciosStocks[i] != stock)) {
+                    stocksAgregados.anexar(stock, id);
+                }
+                if (vigente) {
+                    indexados.limpiar(posicion);
+                } else {
+                    indexados.borrar(posicion);
+                }
+            }
+            cantidadSucios = 0;
+            precios.aplicar(preciosQuitados, preciosAgregados);
+            stocks.aplicar(stocksQuitados, stocksAgregados);
+            hayPendientes = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computadores con precio entre precioMin y precioMax (ambos incluidos), ordenados por precio
+     */
+    public Resultado consultarPrecio(double precioMin, double precioMax, Posicion despuesDe, int limite) {
+        return consultar(precios, clave(precioMin), clave(precioMax), despuesDe, limite);
+    }
+
+    /**
+     * Computadores con stock entre stockMin y stockMax (ambos incluidos), ordenados por stock
+     */
+    public Resultado consultarStock(long stockMin, long stockMax, Posicion despuesDe, int limite) {
+        return consultar(stocks, stockMin, stockMax, despuesDe, limite);
+    }
+
+    /**
+     * Cantidad de computadores con stock entre stockMin y stockMax, sin recorrerlos
+     */
+    public int contarStock(long stockMin, long stockMax) {
+        aplicarPendientes();
+        lock.readLock().lock();
+        try {
+            return Math.max(stocks.primeraMayor(stockMax, Long.MAX_VALUE) - stocks.primeraMayor(stockMin, Long.MIN_VALUE), 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Resultado consultar(Orden orden, long desde, long hasta, Posicion despuesDe, int limite) {
+        aplicarPendientes();
+        lock.readLock().lock();
+        try {
+            int inicio = orden.primeraMayor(desde, Long.MIN_VALUE);
+            int fin = orden.primeraMayor(hasta, Long.MAX_VALUE);
+            int total = Math.max(fin - inicio, 0);
+
+            int posicion = despuesDe == null
+                    ? inicio
+                    : Math.max(inicio, orden.primeraMayor(despuesDe.clave(), despuesDe.id()));
+            int corte = fin - posicion > limite ? posicion + limite : fin;
+            List<Long> pagina = new ArrayList<>(Math.max(corte - posicion, 0));
+            for (int i = posicion; i < corte; i++) {
+                pagina.add(orden.ids[i]);
+            }
+            Posicion siguiente = corte < fin ? new Posicion(orden.claves[corte - 1], orden.ids[corte - 1]) : null;
+            return new Resultado(pagina, total, siguiente);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clave long con el mismo orden que el precio (-0.0 se trata igual que 0.0)
+     */
+    static long clave(double precio) {
+        long bits = Double.doubleToLongBits(precio + 0.0);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Pares (clave, id) ordenados en arreglos primitivos paralelos
+     */
+    private static final class Orden {
+        // Con pocos cambios se insertan en su lugar; con más, una mezcla de un solo recorrido
+        private static final int CAMBIOS_EN_SITIO = 16;
+
+        private long[] claves = new long[1024];
+        private long[] ids = new long[1024];
+        private int tamano;
+        // Destino de la mezcla; se intercambia con los arreglos principales
+        private long[] otrasClaves = new long[0];
+        private long[] otrosIds = new long[0];
+
+        void vaciar() {
+            tamano = 0;
+        }
+
+        // Agregar al final durante la construcción; ordenar() deja el orden correcto
+        void anexar(long clave, long id) {
+            crecer();
+            claves[tamano] = clave;
+            ids[tamano] = id;
+            tamano++;
+        }
+
+        /**
+         * Quitar los pares de "quitados" (todos presentes) y agregar los de "agregados"; deja ambos vacíos
+         */
+        void aplicar(Orden quitados, Orden agregados) {
+            if (quitados.tamano + agregados.tamano <= CAMBIOS_EN_SITIO) {
+                for (int i = 0; i < quitados.tamano; i++) {
+                    quitar(quitados.claves[i], quitados.ids[i]);
+                }
+                for (int i = 0; i < agregados.tamano; i++) {
+                    insertar(agregados.claves[i], agregados.ids[i]);
+                }
+            } else {
+                quitados.ordenar();
+                agregados.ordenar();
+                mezclar(quitados, agregados);
+            }
+            quitados.vaciar();
+            agregados.vaciar();
+        }
+
+        private void mezclar(Orden quitados, Orden agregados) {
+            int capacidad = claves.length;
+            while (capacidad < tamano - quitados.tamano + agregados.tamano) {
+                capacidad *= 2;
+            }
+            if (otrasClaves.length != capacidad) {
+                otrasClaves = new long[capacidad];
+                otrosIds = new long[capacidad];
+            }
+            int i = 0;
+            int q = 0;
+            int a = 0;
+            int k = 0;
+            while (i < tamano || a < agregados.tamano) {
+                if (i < tamano) {
+                    while (q < quitados.tamano && menor(quitados.claves[q], quitados.ids[q], claves[i], ids[i])) {
+                        q++;
+                    }
+                    if (q < quitados.tamano && quitados.claves[q] == claves[i] && quitados.ids[q] == ids[i]) {
+                        i++;
+                        q++;
+                        continue;
+                    }
+                }
+                if (a < agregados.tamano && (i >= tamano || menor(agregados.claves[a], agregados.ids[a], claves[i], ids[i]))) {
+                    otrasClaves[k] = agregados.claves[a];
+                    otrosIds[k++] = agregados.ids[a++];
+                } else {
+                    otrasClaves[k] = claves[i];
+                    otrosIds[k++] = ids[i++];
+                }
+            }
+            long[] clavesAux = claves;
+            claves = otrasClaves;
+            otrasClaves = clavesAux;
+            long[] idsAux = ids;
+            ids = otrosIds;
+            otrosIds = idsAux;
+            tamano = k;
+        }
+
+        private static boolean menor(long clave, long id, long otraClave, long otroId) {
+            return clave < otraClave || (clave == otraClave && id < otroId);
+        }
+
+        void insertar(long clave, long id) {
+            int posicion = primeraMayor(clave, id);
+            crecer();
+            System.arraycopy(claves, posicion, claves, posicion + 1, tamano - posicion);
+            System.arraycopy(ids, posicion, ids, posicion + 1, tamano - posicion);
+            claves[posicion] = clave;
+            ids[posicion] = id;
+            tamano++;
+        }
+
+        void quitar(long clave, long id) {
+            int posicion = primeraMayor(clave, id) - 1;
+            if (posicion < 0 || claves[posicion] != clave || ids[posicion] != id) {
+                return;
+            }
+            System.arraycopy(claves, posicion + 1, claves, posicion, tamano - posicion - 1);
+            System.arraycopy(ids, posicion + 1, ids, posicion, tamano - posicion - 1);
+            tamano--;
+        }
+
+        // Primera posición cuyo par es mayor que (clave, id); búsqueda binaria
+        int primeraMayor(long clave, long id) {
+            int desde = 0;
+            int hasta = tamano;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (claves[medio] < clave || (claves[medio] == clave && ids[medio] <= id)) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+
+        // Mergesort ascendente por (clave, id), alternando entre los arreglos y dos auxiliares
+        void ordenar() {
+            long[] origenClaves = claves;
+            long[] origenIds = ids;
+            long[] destinoClaves = new long[claves.length];
+            long[] destinoIds = new long[ids.length];
+            for (int ancho = 1; ancho < tamano; ancho *= 2) {
+                for (int izquierda = 0; izquierda < tamano; izquierda += 2 * ancho) {
+                    int medio = Math.min(izquierda + ancho, tamano);
+                    int fin = Math.min(izquierda + 2 * ancho, tamano);
+                    int a = izquierda;
+                    int b = medio;
+                    for (int k = izquierda; k < fin; k++) {
+                        boolean tomarIzquierda = a < medio && (b >= fin || origenClaves[a] < origenClaves[b]
+                                || (origenClaves[a] == origenClaves[b] && origenIds[a] <= origenIds[b]));
+                        int elegido = tomarIzquierda ? a++ : b++;
+                        destinoClaves[k] = origenClaves[elegido];
+                        destinoIds[k] = origenIds[elegido];
+                    }
+                }
+                long[] clavesAux = origenClaves;
+                origenClaves = destinoClaves;
+                destinoClaves = clavesAux;
+                long[] idsAux = origenIds;
+                origenIds = destinoIds;
+                destinoIds = idsAux;
+            }
+            claves = origenClaves;
+            ids = origenIds;
+        }
+
+        private void crecer() {
+            if (tamano == claves.length) {
+                claves = Arrays.copyOf(claves, claves.length * 2);
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Precio y stock actuales de cada computador por ID: tabla hash de direccionamiento abierto con
+     * sondeo lineal sobre arreglos primitivos, sin Long ni objetos por entrada. Un computador
+     * eliminado sigue en la tabla (no vigente) hasta la mezcla que lo quita de los arreglos ordenados.
+     */
+    private static final class Tabla {
+        private static final long VACIO = Long.MIN_VALUE;
+        private static final byte VIGENTE = 1;
+        private static final byte SUCIO = 2;
+
+        private long[] ids = nuevosIds(1024);
+        private long[] precios = new long[1024];
+        private long[] stocks = new long[1024];
+        private byte[] estados = new byte[1024];
+        private int ocupadas;
+        private int vigentes;
+
+        void vaciar() {
+            ids = nuevosIds(1024);
+            precios = new long[1024];
+            stocks = new long[1024];
+            estados = new byte[1024];
+            ocupadas = 0;
+            vigentes = 0;
+        }
+
+        // Posición del ID, o -1 si no está
+        int buscar(long id) {
+            int mascara = ids.length - 1;
+            for (int i = inicio(id, mascara); ; i = (i + 1) & mascara) {
+                if (ids[i] == id) {
+                    return i;
+                }
+                if (ids[i] == VACIO) {
+                    return -1;
+                }
+            }
+        }
+
+        int obtenerOCrear(long id) {
+            int posicion = buscar(id);
+            if (posicion >= 0) {
+                return posicion;
+            }
+            // Carga máxima de 2/3
+            if (3 * (ocupadas + 1) > 2 * ids.length) {
+                redimensionar(ids.length * 2);
+            }
+            int mascara = ids.length - 1;
+            int i = inicio(id, mascara);
+            while (ids[i] != VACIO) {
+                i = (i + 1) & mascara;
+            }
+            ids[i] = id;
+            estados[i] = 0;
+            ocupadas++;
+            return i;
+        }
+
+        void guardar(int posicion, long precio, long stock) {
+            precios[posicion] = precio;
+            stocks[posicion] = stock;
+            if ((estados[posicion] & VIGENTE) == 0) {
+                estados[posicion] |= VIGENTE;
+                vigentes++;
+            }
+        }
+
+        void descartar(int posicion) {
+            estados[posicion] &= ~VIGENTE;
+            vigentes--;
+        }
+
+        boolean vigente(int posicion) {
+            return (estados[posicion] & VIGENTE) != 0;
+        }
+
+        boolean sucio(int posicion) {
+            return (estados[posicion] & SUCIO) != 0;
+        }
+
+        void marcarSucio(int posicion) {
+            estados[posicion] |= SUCIO;
+        }
+
+        void limpiar(int posicion) {
+            estados[posicion] &= ~SUCIO;
+        }
+
+        // Borrado con desplazamiento hacia atrás: las entradas siguientes del grupo ocupan el hueco
+        void borrar(int posicion) {
+            int mascara = ids.length - 1;
+            int hueco = posicion;
+            for (int i = (posicion + 1) & mascara; ids[i] != VACIO; i = (i + 1) & mascara) {
+                int ideal = inicio(ids[i], mascara);
+                if (((i - ideal) & mascara) >= ((i - hueco) & mascara)) {
+                    ids[hueco] = ids[i];
+                    precios[hueco] = precios[i];
+                    stocks[hueco] = stocks[i];
+                    estados[hueco] = estados[i];
+                    hueco = i;
+                }
+            }
+            ids[hueco] = VACIO;
+            estados[hueco] = 0;
+            ocupadas--;
+        }
+
+        private void redimensionar(int capacidad) {
+            long[] idsAnteriores = ids;
+            long[] preciosAnteriores = precios;
+            long[] stocksAnteriores = stocks;
+            byte[] estadosAnteriores = estados;
+            ids = nuevosIds(capacidad);
+            precios = new long[capacidad];
+            stocks = new long[capacidad];
+            estados = new byte[capacidad];
+            int mascara = capacidad - 1;
+            for (int j = 0; j < idsAnteriores.length; j++) {
+                if (idsAnteriores[j] == VACIO) {
+                    continue;
+                }
+                int i = inicio(idsAnteriores[j], mascara);
+                while (ids[i] != VACIO) {
+                    i = (i + 1) & mascara;
+                }
+                ids[i] = idsAnteriores[j];
+                precios[i] = preciosAnteriores[j];
+                stocks[i] = stocksAnteriores[j];
+                estados[i] = estadosAnteriores[j];
+            }
+        }
+
+        private static int inicio(long id, int mascara) {
+            long mezcla = id * 0x9E3779B97F4A7C15L;
+            return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+        }
+
+        private static long[] nuevosIds(int capacidad) {
+            long[] ids = new long[capacidad];
+            Arrays.fill(ids, VACIO);
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.dto.ComputadorResumen;
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.repository.ComputadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido de trigramas en memoria sobre marca, modelo y procesador.
+ * Permite resolver los IDs candidatos de una búsqueda "contiene" sin recorrer la tabla.
+ */
+@Component
+public class IndiceTrigramas {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTrigramas.class);
+
+    private static final int N = 3;
+
+    enum Campo {
+        MARCA,
+        MODELO,
+        PROCESADOR
+    }
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Campo, Map<String, Set<Long>>> indices = new EnumMap<>(Campo.class);
+    private final Map<Long, String[]> valoresIndexados = new HashMap<>();
+    private volatile boolean listo = false;
+
+    public IndiceTrigramas() {
+        for (Campo campo : Campo.values()) {
+            indices.put(campo, new HashMap<>());
+        }
+    }
+
+    /**
+     * Construir el índice completo a partir de la base de datos al iniciar la aplicación y después
+     * de reemplazar el catálogo
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogoReemplazado.class})
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            indices.values().forEach(Map::clear);
+            valoresIndexados.clear();
+            try (Stream<ComputadorResumen> computadores = computadorRepository.streamTodos()) {
+                computadores.forEach(computador -> agregar(computador.id(),
+                        computador.marca(), computador.modelo(), computador.procesador()));
+            }
+            listo = true;
+            log.info("Índice de trigramas construido con {} computadores", valoresIndexados.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantener el índice al día con los cambios confirmados del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        switch (evento.getTipo()) {
+            case CREADO, ACTUALIZADO -> indexar(evento.getComputador());
+            case ELIMINADO -> eliminar(evento.getId());
+            default -> {
+                // Los cambios de stock no afectan los campos de texto
+            }
+        }
+    }
+
+    public void indexar(Computador computador) {
+        lock.writeLock().lock();
+        try {
+            quitar(computador.getId());
+            agregar(computador.getId(), computador.getMarca(), computador.getModelo(), computador.getProcesador());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtener los IDs candidatos para los criterios de texto dados.
+     * Devuelve null si el índice no puede restringir la búsqueda (no está listo
+     * o ningún criterio tiene al menos tres caracteres). Los candidatos son un
+     * superconjunto del resultado: la base de datos debe confirmar la coincidencia.
+     */
+    public Set<Long> buscarCandidatos(String marca, String modelo, String procesador) {
+        if (!listo) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> candidatos = null;
+            candidatos = restringir(candidatos, Campo.MARCA, marca);
+            candidatos = restringir(candidatos, Campo.MODELO, modelo);
+            candidatos = restringir(candidatos, Campo.PROCESADOR, procesador);
+            return candidatos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> restringir(Set<Long> candidatos, Campo campo, String termino) {
+        if (termino == null || termino.length() < N || termino.contains("%") || termino.contains("_")) {
+            return candidatos;
+        }
+        if (candidatos != null && candidatos.isEmpty()) {
+            return candidatos;
+        }
+
+        // Intersectar empezando por la lista de IDs más corta
+        Map<String, Set<Long>> indice = indices.get(campo);
+        List<Set<Long>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(termino)) {
+            Set<Long> ids = indice.get(trigrama);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> resultado = new HashSet<>(listas.get(0));
+        if (candidatos != null) {
+            resultado.retainAll(candidatos);
+        }
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+        return resultado;
+    }
+
+    private void agregar(Long id, String marca, String modelo, String procesador) {
+        String[] valores = {marca, modelo, procesador};
+        for (Campo campo : Campo.values()) {
+            Map<String, Set<Long>> indice = indices.get(campo);
+            for (String trigrama : trigramas(valores[campo.ordinal()])) {
+                indice.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+            }
+        }
+        valoresIndexados.put(id, valores);
+    }
+
+    private void quitar(Long id) {
+        String[] valores = valoresIndexados.remove(id);
+        if (valores == null) {
+            return;
+        }
+        for (Campo campo : Campo.values()) {
+            Map<String, Set<Long>> indice = indices.get(campo);
+            for (String trigrama : trigramas(valores[campo.ordinal()])) {
+                Set<Long> ids = indice.get(trigrama);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        indice.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    static Set<String> trigramas(String valor) {
+        Set<String> trigramas = new HashSet<>();
+        if (valor == null) {
+            return trigramas;
+        }
+        String normalizado = valor.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + N <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + N));
+        }
+        return trigramas;
+    }
+}
@@ -0,0 +1,752 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.model.Especificaciones;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Instantánea binaria del catálogo para respaldar, copiar entre entornos o arrancar con muchos
+ * datos sin pasar por JPA. El archivo es columnar por grupos de filas: dentro de un grupo cada
+ * columna se guarda junta y comprimida con Deflate; marca, procesador, memoriaRam y almacenamiento
+ * se guardan como diccionario de valores distintos más un código por fila, y los enteros como
+ * varint (IDs y fechas como diferencia con la fila anterior). Se escribe con un FileChannel y se
+ * lee mapeando el archivo en memoria; solo un grupo a la vez está descomprimido.
+ *
+ * Formato: "CMPS", versión (int), filas (long) y por cada grupo sus filas (int) seguidas de las
+ * columnas id, marca, modelo, procesador, memoria_ram, almacenamiento, precio, stock,
+ * fecha_creacion y version, cada una como largo sin comprimir (int), largo comprimido (int) y bytes.
+ */
+@Service
+public class InstantaneaCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(InstantaneaCatalogo.class);
+
+    private static final int MAGIA = 0x434D5053;
+    private static final int VERSION_FORMATO = 1;
+    private static final int LARGO_ENCABEZADO = 16;
+
+    // Acota la memoria al exportar e importar; también es el tamaño de cada lote de inserción
+    private static final int FILAS_POR_GRUPO = 65536;
+
+    // allocationSize de Computador
+    private static final int BLOQUE_IDS = 50;
+
+    private static final String SELECT_TODOS = "SELECT id, marca, modelo, procesador, memoria_ram, " +
+            "almacenamiento, precio, stock, fecha_creacion, version FROM computadores ORDER BY id";
+
+    private static final String INSERT = "INSERT INTO computadores (id, marca, modelo, procesador, memoria_ram, " +
+            "almacenamiento, precio, stock, fecha_creacion, version, ram_gb, ram_tipo, almacenamiento_gb, " +
+            "almacenamiento_tipo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EscrituraDiferidaStock escrituraDiferida;
+
+    @Autowired
+    private FeedCambios feedCambios;
+
+    @Autowired
+    private BloqueoCatalogo bloqueoCatalogo;
+
+    @Value("${computadores.instantanea.cargar-al-iniciar:}")
+    private String cargarAlIniciar;
+
+    /**
+     * Exportar el catálogo a un archivo temporal; quien llama debe borrarlo
+     */
+    public Path exportar() throws IOException {
+        Path archivo = Files.createTempFile("catalogo-", ".cmps");
+        try {
+            exportar(archivo);
+            return archivo;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+    }
+
+    /**
+     * Escribir el catálogo completo en el archivo; devuelve la cantidad de computadores
+     */
+    public long exportar(Path archivo) throws IOException {
+        // Que la instantánea incluya el stock que todavía no se escribió
+        escrituraDiferida.descargar();
+
+        // Una sola transacción de lectura: la instantánea es un estado consistente del catálogo
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritor escritor = new Escritor(canal);
+            canal.position(LARGO_ENCABEZADO);
+            lectura.executeWithoutResult(estado -> jdbcTemplate.query(conexion -> {
+                PreparedStatement sentencia = conexion.prepareStatement(SELECT_TODOS);
+                sentencia.setFetchSize(1000);
+                return sentencia;
+            }, escritor::agregar));
+            escritor.terminar();
+
+            ByteBuffer encabezado = ByteBuffer.allocate(LARGO_ENCABEZADO)
+                    .putInt(MAGIA)
+                    .putInt(VERSION_FORMATO)
+                    .putLong(escritor.total)
+                    .flip();
+            while (encabezado.hasRemaining()) {
+                canal.write(encabezado, encabezado.position());
+            }
+            return escritor.total;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reemplazar el catálogo con una instantánea recibida (se copia a un archivo temporal para mapearla)
+     */
+    public Map<String, Object> importar(InputStream entrada) throws IOException {
+        Path archivo = Files.createTempFile("catalogo-", ".cmps");
+        try {
+            Files.copy(entrada, archivo, StandardCopyOption.REPLACE_EXISTING);
+            return importar(archivo);
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    /**
+     * Reemplazar el catálogo con el de la instantánea y devolver un reporte. Las reservas no se tocan:
+     * las de computadores que ya no existen quedan sin computador.
+     */
+    public Map<String, Object> importar(Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        long importados = reemplazar(archivo, true);
+
+        Map<String, Object> reporte = new HashMap<>();
+        reporte.put("importados", importados);
+        reporte.put("milisegundos", (System.nanoTime() - inicio) / 1_000_000);
+        return reporte;
+    }
+
+    /**
+     * Cargar la instantánea de computadores.instantanea.cargar-al-iniciar en lugar de los datos
+     * iniciales. Se ejecuta antes de ApplicationReadyEvent, así que los índices se construyen después.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void cargarAlIniciar() throws IOException {
+        if (cargarAlIniciar.isBlank()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        long filas = reemplazar(Path.of(cargarAlIniciar), false);
+        log.info("Catálogo cargado desde la instantánea {}: {} computadores en {} ms",
+                cargarAlIniciar, filas, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Vaciar la tabla y cargar la instantánea, un grupo por transacción como la importación CSV.
+     * Borrar e insertar todo en una sola transacción guarda cada fila anterior en el registro de
+     * deshacer; por eso el archivo se recorre completo antes de vaciar la tabla y un archivo dañado
+     * nunca deja el catálogo a medias.
+     */
+    private long reemplazar(Path archivo, boolean avisar) throws IOException {
+        // Un stock diferido de antes de la importación no debe escribirse sobre el catálogo nuevo
+        escrituraDiferida.descargar();
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (mapa.remaining() < LARGO_ENCABEZADO || mapa.getInt() != MAGIA) {
+                throw new RuntimeException("El archivo no es una instantánea del catálogo");
+            }
+            int version = mapa.getInt();
+            if (version != VERSION_FORMATO) {
+                throw new RuntimeException("Versión de instantánea no soportada: " + version);
+            }
+            long total = mapa.getLong();
+            long inicio = System.nanoTime();
+            long maximoId = validar(mapa.slice(), total);
+            log.debug("Instantánea de {} computadores decodificada en {} ms", total, (System.nanoTime() - inicio) / 1_000_000);
+
+            // Las escrituras del catálogo (crear, importar CSV, stock, reservas) esperan hasta el final
+            bloqueoCatalogo.iniciarReemplazo();
+            try {
+                jdbcTemplate.execute("TRUNCATE TABLE computadores");
+                long insertadas = 0;
+                Lector lector = new Lector(mapa);
+                TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+                try {
+                    while (insertadas < total) {
+                        Grupo grupo = lector.siguiente();
+                        transaccion.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(INSERT, grupo));
+                        insertadas += grupo.filas;
+                    }
+                } catch (RuntimeException e) {
+                    throw new RuntimeException("La importación se interrumpió con " + insertadas + " de " + total +
+                            " computadores cargados: " + e.getMessage(), e);
+                } finally {
+                    lector.cerrar();
+                    reiniciarSecuencia(maximoId);
+                    if (avisar) {
+                        // Índices y cachés se reconstruyen desde la base de datos antes de avisar a los clientes del feed
+                        eventPublisher.publishEvent(new CatalogoReemplazado(insertadas));
+                        feedCambios.reiniciarClientes();
+                    }
+                }
+                return insertadas;
+            } finally {
+                bloqueoCatalogo.terminarReemplazo();
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw instantaneaDanada();
+        }
+    }
+
+    /**
+     * Decodificar todos los grupos sin insertarlos; devuelve el mayor ID
+     */
+    private static long validar(ByteBuffer grupos, long total) {
+        Lector lector = new Lector(grupos);
+        try {
+            long filas = 0;
+            long maximoId = 0;
+            while (filas < total) {
+                Grupo grupo = lector.siguiente();
+                // Los IDs crecen dentro de cada grupo; entre grupos también
+                if (grupo.ids[0] <= maximoId) {
+                    throw instantaneaDanada();
+                }
+                maximoId = grupo.maximoId;
+                filas += grupo.filas;
+            }
+            if (filas != total || grupos.hasRemaining()) {
+                throw instantaneaDanada();
+            }
+            return maximoId;
+        } finally {
+            lector.cerrar();
+        }
+    }
+
+    /**
+     * Llevar la secuencia de IDs más allá del mayor ID importado y del bloque que Hibernate ya tenga
+     * reservado en memoria, y descartar de ese bloque los IDs que podrían chocar con los importados.
+     * Si la base tuvo IDs mayores que los de la instantánea, el bloque en memoria puede estar por
+     * encima de maximoId: sus IDs siguen siendo válidos, pero la secuencia debe empezar después.
+     */
+    private void reiniciarSecuencia(long maximoId) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generador = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Computador.class)
+                .getGenerator();
+        try (StatelessSession sesion = sessionFactory.openStatelessSession()) {
+            // Posición actual del generador: el bloque en memoria termina a lo sumo BLOQUE_IDS - 1 después
+            long actual = ((Number) generador.generate((SharedSessionContractImplementor) sesion, null)).longValue();
+            long siguiente = Math.max(maximoId, actual + BLOQUE_IDS - 1) + 1 + BLOQUE_IDS;
+            String motor = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName());
+            if ("MySQL".equalsIgnoreCase(motor)) {
+                jdbcTemplate.update("UPDATE computadores_seq SET next_val = ?", siguiente);
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE computadores_seq RESTART WITH " + siguiente);
+            }
+
+            // Los IDs que quedan del bloque anterior y no superan maximoId chocarían con los importados;
+            // al agotarse el bloque, el siguiente sale de la secuencia reiniciada
+            long id = actual;
+            while (id <= maximoId) {
+                id = ((Number) generador.generate((SharedSessionContractImplementor) sesion, null)).longValue();
+            }
+        }
+    }
+
+    private static RuntimeException instantaneaDanada() {
+        return new RuntimeException("La instantánea está incompleta o dañada");
+    }
+
+    private static long micros(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + fecha.getNano() / 1000;
+    }
+
+    private static LocalDateTime fecha(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    // Bytes de código por fila según la cantidad de valores del diccionario
+    private static int ancho(int valores) {
+        return valores <= 0x100 ? 1 : valores <= 0x10000 ? 2 : 4;
+    }
+
+    /**
+     * Acumula un grupo de filas por columnas y lo escribe comprimido al completarse
+     */
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private byte[] comprimido = new byte[64 * 1024];
+
+        private final Salida ids = new Salida();
+        private final Diccionario marcas = new Diccionario();
+        private final Salida modelos = new Salida();
+        private final Diccionario procesadores = new Diccionario();
+        private final Diccionario memorias = new Diccionario();
+        private final Diccionario almacenamientos = new Diccionario();
+        private final Salida precios = new Salida();
+        private final Salida stocks = new Salida();
+        private final Salida fechas = new Salida();
+        private final Salida versiones = new Salida();
+        private final Salida codigos = new Salida();
+
+        private int filas;
+        private long total;
+        private long idAnterior;
+        private long fechaAnterior;
+
+        private Escritor(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        void agregar(ResultSet fila) throws SQLException {
+            long id = fila.getLong(1);
+            ids.varint(id - idAnterior);
+            idAnterior = id;
+            marcas.agregar(fila.getString(2));
+            modelos.texto(fila.getString(3));
+            procesadores.agregar(fila.getString(4));
+            memorias.agregar(fila.getString(5));
+            almacenamientos.agregar(fila.getString(6));
+            precios.doble(fila.getDouble(7));
+            stocks.varint(zigzag(fila.getInt(8)));
+            long micros = micros(fila.getObject(9, LocalDateTime.class));
+            fechas.varint(zigzag(micros - fechaAnterior));
+            fechaAnterior = micros;
+            long version = fila.getLong(10);
+            // 0 es null; cualquier otro valor es la versión más uno
+            versiones.varint(fila.wasNull() ? 0 : version + 1);
+
+            filas++;
+            total++;
+            if (filas == FILAS_POR_GRUPO) {
+                try {
+                    escribirGrupo();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        void terminar() throws IOException {
+            if (filas > 0) {
+                escribirGrupo();
+            }
+            deflater.end();
+        }
+
+        private void escribirGrupo() throws IOException {
+            escribir(ByteBuffer.allocate(4).putInt(filas).flip());
+            escribirColumna(ids);
+            escribirColumna(marcas);
+            escribirColumna(modelos);
+            escribirColumna(procesadores);
+            escribirColumna(memorias);
+            escribirColumna(almacenamientos);
+            escribirColumna(precios);
+            escribirColumna(stocks);
+            escribirColumna(fechas);
+            escribirColumna(versiones);
+
+            filas = 0;
+            idAnterior = 0;
+            fechaAnterior = 0;
+        }
+
+        private void escribirColumna(Diccionario diccionario) throws IOException {
+            diccionario.codificar(codigos);
+            escribirColumna(codigos);
+        }
+
+        private void escribirColumna(Salida columna) throws IOException {
+            deflater.reset();
+            deflater.setInput(columna.datos, 0, columna.largo);
+            deflater.finish();
+            int largoComprimido = 0;
+            while (!deflater.finished()) {
+                if (largoComprimido == comprimido.length) {
+                    comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+                }
+                largoComprimido += deflater.deflate(comprimido, largoComprimido, comprimido.length - largoComprimido);
+            }
+            escribir(ByteBuffer.allocate(8).putInt(columna.largo).putInt(largoComprimido).flip());
+            escribir(ByteBuffer.wrap(comprimido, 0, largoComprimido));
+            columna.vaciar();
+        }
+
+        private void escribir(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                canal.write(bytes);
+            }
+        }
+
+        private static long zigzag(long valor) {
+            return (valor << 1) ^ (valor >> 63);
+        }
+    }
+
+    /**
+     * Bytes de una columna sin comprimir
+     */
+    private static final class Salida {
+        private byte[] datos = new byte[64 * 1024];
+        private int largo;
+
+        void varint(long valor) {
+            espacio(10);
+            while ((valor & ~0x7FL) != 0) {
+                datos[largo++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[largo++] = (byte) valor;
+        }
+
+        void doble(double valor) {
+            espacio(8);
+            long bits = Double.doubleToRawLongBits(valor);
+            for (int desplazamiento = 56; desplazamiento >= 0; desplazamiento -= 8) {
+                datos[largo++] = (byte) (bits >>> desplazamiento);
+            }
+        }
+
+        void texto(String valor) {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            espacio(bytes.length);
+            System.arraycopy(bytes, 0, datos, largo, bytes.length);
+            largo += bytes.length;
+        }
+
+        void codigo(int valor, int ancho) {
+            espacio(ancho);
+            for (int desplazamiento = (ancho - 1) * 8; desplazamiento >= 0; desplazamiento -= 8) {
+                datos[largo++] = (byte) (valor >>> desplazamiento);
+            }
+        }
+
+        void vaciar() {
+            largo = 0;
+        }
+
+        private void espacio(int bytes) {
+            if (largo + bytes > datos.length) {
+                datos = Arrays.copyOf(datos, Math.max(datos.length * 2, largo + bytes));
+            }
+        }
+    }
+
+    /**
+     * Valores distintos de una columna de texto en el grupo y el código de cada fila
+     */
+    private static final class Diccionario {
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+        private final int[] filas = new int[FILAS_POR_GRUPO];
+        private int cantidad;
+
+        void agregar(String valor) {
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+            }
+            filas[cantidad++] = codigo;
+        }
+
+        void codificar(Salida salida) {
+            salida.varint(valores.size());
+            for (String valor : valores) {
+                salida.texto(valor);
+            }
+            int ancho = ancho(valores.size());
+            for (int i = 0; i < cantidad; i++) {
+                salida.codigo(filas[i], ancho);
+            }
+            codigos.clear();
+            valores.clear();
+            cantidad = 0;
+        }
+    }
+
+    /**
+     * Lee los grupos del archivo mapeado, descomprimiendo uno a la vez
+     */
+    private static final class Lector {
+        private final ByteBuffer mapa;
+        private final Inflater inflater = new Inflater();
+
+        private Lector(ByteBuffer mapa) {
+            this.mapa = mapa;
+        }
+
+        Grupo siguiente() {
+            int filas = mapa.getInt();
+            if (filas <= 0 || filas > FILAS_POR_GRUPO) {
+                throw instantaneaDanada();
+            }
+            Grupo grupo = new Grupo(filas);
+
+            ByteBuffer ids = columna();
+            long id = 0;
+            for (int i = 0; i < filas; i++) {
+                long diferencia = varint(ids);
+                if (diferencia <= 0) {
+                    throw instantaneaDanada();
+                }
+                id += diferencia;
+                grupo.ids[i] = id;
+            }
+            grupo.maximoId = id;
+
+            grupo.marcas = diccionario(columna(), grupo.codigosMarca);
+            ByteBuffer modelos = columna();
+            for (int i = 0; i < filas; i++) {
+                grupo.modelos[i] = texto(modelos);
+            }
+            grupo.procesadores = diccionario(columna(), grupo.codigosProcesador);
+            grupo.memorias = diccionario(columna(), grupo.codigosMemoria);
+            grupo.almacenamientos = diccionario(columna(), grupo.codigosAlmacenamiento);
+
+            ByteBuffer precios = columna();
+            for (int i = 0; i < filas; i++) {
+                grupo.precios[i] = precios.getDouble();
+            }
+            ByteBuffer stocks = columna();
+            for (int i = 0; i < filas; i++) {
+                grupo.stocks[i] = (int) deszigzag(varint(stocks));
+            }
+            ByteBuffer fechas = columna();
+            long micros = 0;
+            for (int i = 0; i < filas; i++) {
+                micros += deszigzag(varint(fechas));
+                grupo.fechas[i] = micros;
+            }
+            ByteBuffer versiones = columna();
+            for (int i = 0; i < filas; i++) {
+                grupo.versiones[i] = varint(versiones) - 1;
+            }
+
+            // Las especificaciones se calculan una vez por valor distinto, no por fila
+            grupo.especificacionesMemoria = new Especificaciones[grupo.memorias.length];
+            for (int i = 0; i < grupo.memorias.length; i++) {
+                grupo.especificacionesMemoria[i] = Especificaciones.de(grupo.memorias[i], null);
+            }
+            grupo.especificacionesAlmacenamiento = new Especificaciones[grupo.almacenamientos.length];
+            for (int i = 0; i < grupo.almacenamientos.length; i++) {
+                grupo.especificacionesAlmacenamiento[i] = Especificaciones.de(null, grupo.almacenamientos[i]);
+            }
+            return grupo;
+        }
+
+        void cerrar() {
+            inflater.end();
+        }
+
+        private ByteBuffer columna() {
+            int largo = mapa.getInt();
+            int largoComprimido = mapa.getInt();
+            if (largo < 0 || largoComprimido < 0 || largoComprimido > mapa.remaining()) {
+                throw instantaneaDanada();
+            }
+            ByteBuffer comprimido = mapa.slice(mapa.position(), largoComprimido);
+            mapa.position(mapa.position() + largoComprimido);
+
+            inflater.reset();
+            inflater.setInput(comprimido);
+            // Un byte de más para distinguir el final exacto de una columna más larga de lo declarado
+            ByteBuffer columna = ByteBuffer.allocate(largo + 1);
+            try {
+                while (!inflater.finished() && columna.hasRemaining()) {
+                    if (inflater.inflate(columna) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw instantaneaDanada();
+            }
+            if (!inflater.finished() || columna.position() != largo) {
+                throw instantaneaDanada();
+            }
+            return columna.flip();
+        }
+
+        private static String[] diccionario(ByteBuffer columna, int[] codigos) {
+            int cantidad = (int) varint(columna);
+            if (cantidad < 0 || cantidad > codigos.length) {
+                throw instantaneaDanada();
+            }
+            String[] valores = new String[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                valores[i] = texto(columna);
+            }
+            int ancho = ancho(cantidad);
+            for (int i = 0; i < codigos.length; i++) {
+                int codigo = switch (ancho) {
+                    case 1 -> columna.get() & 0xFF;
+                    case 2 -> columna.getShort() & 0xFFFF;
+                    default -> columna.getInt();
+                };
+                if (codigo < 0 || codigo >= cantidad) {
+                    throw instantaneaDanada();
+                }
+                codigos[i] = codigo;
+            }
+            return valores;
+        }
+
+        private static long varint(ByteBuffer columna) {
+            long valor = 0;
+            for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+                byte b = columna.get();
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if (b >= 0) {
+                    return valor;
+                }
+            }
+            throw instantaneaDanada();
+        }
+
+        private static String texto(ByteBuffer columna) {
+            int largo = (int) varint(columna);
+            if (largo < 0 || largo > columna.remaining()) {
+                throw instantaneaDanada();
+            }
+            String valor = new String(columna.array(), columna.position(), largo, StandardCharsets.UTF_8);
+            columna.position(columna.position() + largo);
+            return valor;
+        }
+
+        private static long deszigzag(long valor) {
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+    }
+
+    /**
+     * Un grupo de filas ya decodificado, insertado como un solo lote JDBC
+     */
+    private static final class Grupo implements BatchPreparedStatementSetter {
+        private final int filas;
+        private final long[] ids;
+        private final int[] codigosMarca;
+        private final String[] modelos;
+        private final int[] codigosProcesador;
+        private final int[] codigosMemoria;
+        private final int[] codigosAlmacenamiento;
+        private final double[] precios;
+        private final int[] stocks;
+        private final long[] fechas;
+        private final long[] versiones;
+        private String[] marcas;
+        private String[] procesadores;
+        private String[] memorias;
+        private String[] almacenamientos;
+        private Especificaciones[] especificacionesMemoria;
+        private Especificaciones[] especificacionesAlmacenamiento;
+        private long maximoId;
+
+        private Grupo(int filas) {
+            this.filas = filas;
+            this.ids = new long[filas];
+            this.codigosMarca = new int[filas];
+            this.modelos = new String[filas];
+            this.codigosProcesador = new int[filas];
+            this.codigosMemoria = new int[filas];
+            this.codigosAlmacenamiento = new int[filas];
+            this.precios = new double[filas];
+            this.stocks = new int[filas];
+            this.fechas = new long[filas];
+            this.versiones = new long[filas];
+        }
+
+        @Override
+        public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+            Especificaciones memoria = especificacionesMemoria[codigosMemoria[i]];
+            Especificaciones almacenamiento = especificacionesAlmacenamiento[codigosAlmacenamiento[i]];
+            sentencia.setLong(1, ids[i]);
+            sentencia.setString(2, marcas[codigosMarca[i]]);
+            sentencia.setString(3, modelos[i]);
+            sentencia.setString(4, procesadores[codigosProcesador[i]]);
+            sentencia.setString(5, memorias[codigosMemoria[i]]);
+            sentencia.setString(6, almacenamientos[codigosAlmacenamiento[i]]);
+            sentencia.setDouble(7, precios[i]);
+            sentencia.setInt(8, stocks[i]);
+            sentencia.setObject(9, fecha(fechas[i]));
+            if (versiones[i] < 0) {
+                sentencia.setNull(10, Types.BIGINT);
+            } else {
+                sentencia.setLong(10, versiones[i]);
+            }
+            sentencia.setObject(11, memoria.getRamGb(), Types.INTEGER);
+            sentencia.setString(12, memoria.getRamTipo());
+            sentencia.setObject(13, almacenamiento.getAlmacenamientoGb(), Types.INTEGER);
+            sentencia.setString(14, almacenamiento.getAlmacenamientoTipo());
+        }
+
+        @Override
+        public int getBatchSize() {
+            return filas;
+        }
+    }
+}
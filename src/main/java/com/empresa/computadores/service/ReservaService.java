@@ -0,0 +1,98 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Reserva;
+import com.empresa.computadores.repository.ComputadorRepository;
+import com.empresa.computadores.repository.ReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class ReservaService {
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EscrituraDiferidaStock escrituraDiferida;
+
+    @Autowired
+    private BloqueoCatalogo bloqueoCatalogo;
+
+    /**
+     * Obtener reserva por ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Reserva> obtenerPorId(Long id) {
+        return reservaRepository.findById(id);
+    }
+
+    /**
+     * Reservar unidades de un computador descontándolas del stock disponible
+     */
+    public Reserva reservar(Long computadorId, Integer cantidad) {
+        if (cantidad == null || cantidad <= 0) {
+            throw new RuntimeException("La cantidad a reservar debe ser mayor a 0");
+        }
+
+        bloqueoCatalogo.escritura();
+        // El descuento parte del último stock recibido, aunque estuviera pendiente de escribirse
+        escrituraDiferida.descargar(List.of(computadorId));
+
+        // Una sola sentencia UPDATE condicional: nunca deja el stock en negativo
+        if (computadorRepository.descontarStock(computadorId, cantidad) == 0) {
+            if (!computadorRepository.existsById(computadorId)) {
+                throw new RuntimeException("Computador no encontrado con ID: " + computadorId);
+            }
+            throw new RuntimeException("Stock insuficiente para reservar " + cantidad +
+                                    " unidades del computador con ID: " + computadorId);
+        }
+
+        Reserva reserva = reservaRepository.save(new Reserva(computadorId, cantidad));
+        publicarCambioStock(computadorId);
+        return reserva;
+    }
+
+    /**
+     * Confirmar una reserva pendiente (las unidades quedan vendidas)
+     */
+    public Reserva confirmar(Long reservaId) {
+        if (reservaRepository.cambiarEstado(reservaId, Reserva.Estado.PENDIENTE, Reserva.Estado.CONFIRMADA) == 0) {
+            throw new RuntimeException("No existe una reserva pendiente con ID: " + reservaId);
+        }
+        return reservaRepository.findById(reservaId).orElseThrow();
+    }
+
+    /**
+     * Liberar una reserva pendiente devolviendo sus unidades al stock
+     */
+    public Reserva liberar(Long reservaId) {
+        bloqueoCatalogo.escritura();
+        if (reservaRepository.cambiarEstado(reservaId, Reserva.Estado.PENDIENTE, Reserva.Estado.LIBERADA) == 0) {
+            throw new RuntimeException("No existe una reserva pendiente con ID: " + reservaId);
+        }
+
+        Reserva reserva = reservaRepository.findById(reservaId).orElseThrow();
+        escrituraDiferida.descargar(List.of(reserva.getComputadorId()));
+        computadorRepository.reponerStock(reserva.getComputadorId(), reserva.getCantidad());
+        publicarCambioStock(reserva.getComputadorId());
+        return reserva;
+    }
+
+    private void publicarCambioStock(Long computadorId) {
+        computadorRepository.findById(computadorId)
+                .ifPresent(computador -> eventPublisher.publishEvent(ComputadorEvento.stock(computador)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.event.CatalogoReemplazado;
+import com.empresa.computadores.event.ComputadorEvento;
+import com.empresa.computadores.model.Computador;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión del catálogo para las respuestas condicionales (ETag / If-None-Match).
+ * Avanza después del commit de cada cambio, así que una respuesta calculada después de leer
+ * la versión nunca es más antigua que ella. Las ETags llevan el arranque del servidor porque
+ * el contador vuelve a cero al reiniciar. Con réplicas, mientras el último cambio sea más reciente
+ * que su retraso máximo, un cuerpo leído de una réplica podría no incluirlo (ver cambioReciente).
+ */
+@Component
+public class VersionCatalogo {
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final long retrasoMaximoNanos;
+    private volatile long ultimoCambio = System.nanoTime();
+
+    public VersionCatalogo(@Value("${computadores.replicas.retraso-maximo:5s}") Duration retrasoMaximo) {
+        this.retrasoMaximoNanos = retrasoMaximo.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarComputador(ComputadorEvento evento) {
+        incrementar();
+    }
+
+    /**
+     * Registrar un cambio hecho fuera de los servicios (p. ej. un backfill o una instantánea importada)
+     */
+    @EventListener(CatalogoReemplazado.class)
+    public void incrementar() {
+        ultimoCambio = System.nanoTime();
+        version.incrementAndGet();
+    }
+
+    /**
+     * true si el último cambio tiene menos de computadores.replicas.retraso-maximo: una réplica
+     * todavía podría no tenerlo, así que el cuerpo de etag() debe leerse de la primaria
+     */
+    public boolean cambioReciente() {
+        return System.nanoTime() - ultimoCambio < retrasoMaximoNanos;
+    }
+
+    /**
+     * ETag de cualquier respuesta que dependa del catálogo completo (listados, búsquedas, conteos)
+     */
+    public String etag() {
+        return arranque + "-" + version.get();
+    }
+
+    /**
+     * ETag de un solo computador, a partir de su columna de versión. Incluye el stock porque con la
+     * escritura diferida el stock cambia antes de que la versión avance.
+     */
+    public String etag(Computador computador) {
+        return arranque + "-" + computador.getId() + "-v" + computador.getVersion()
+                + "-s" + computador.getStock();
+    }
+}
@@ -1,12 +0,0 @@
--- Datos iniciales para la empresa de computadores
-INSERT INTO computadores (marca, modelo, procesador, memoria_ram, almacenamiento, precio, stock, fecha_creacion) VALUES
-('Dell', 'Inspiron 15 3000', 'Intel Core i5-1135G7', '8GB DDR4', '512GB SSD', 899.99, 15, CURRENT_TIMESTAMP),
-('HP', 'Pavilion 15', 'AMD Ryzen 5 5500U', '16GB DDR4', '1TB HDD', 749.99, 8, CURRENT_TIMESTAMP),
-('Lenovo', 'IdeaPad 3', 'Intel Core i3-1115G4', '8GB DDR4', '256GB SSD', 599.99, 12, CURRENT_TIMESTAMP),
-('ASUS', 'VivoBook 15', 'AMD Ryzen 7 5700U', '16GB DDR4', '512GB SSD', 1099.99, 5, CURRENT_TIMESTAMP),
-('Acer', 'Aspire 5', 'Intel Core i5-1235U', '12GB DDR4', '512GB SSD', 799.99, 20, CURRENT_TIMESTAMP),
-('MSI', 'Modern 15', 'Intel Core i7-1260P', '16GB DDR4', '1TB SSD', 1299.99, 3, CURRENT_TIMESTAMP),
-('Apple', 'MacBook Air M2', 'Apple M2', '8GB Unified Memory', '256GB SSD', 1199.99, 7, CURRENT_TIMESTAMP),
-('Samsung', 'Galaxy Book2', 'Intel Core i5-1235U', '8GB DDR4', '256GB SSD', 899.99, 10, CURRENT_TIMESTAMP),
-('Microsoft', 'Surface Laptop 5', 'Intel Core i5-1235U', '8GB DDR5', '256GB SSD', 999.99, 4, CURRENT_TIMESTAMP),
-('Razer', 'Blade 15', 'Intel Core i7-12800H', '32GB DDR5', '1TB SSD', 2499.99, 2, CURRENT_TIMESTAMP);
@@ -0,0 +1,33 @@
+-- Esquema inicial del catálogo de computadores (H2)
+
+-- Asignación por bloques de 50 IDs (allocationSize de Computador)
+CREATE SEQUENCE computadores_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE computadores (
+    id BIGINT NOT NULL,
+    marca VARCHAR(50) NOT NULL,
+    modelo VARCHAR(100) NOT NULL,
+    procesador VARCHAR(100) NOT NULL,
+    memoria_ram VARCHAR(20) NOT NULL,
+    almacenamiento VARCHAR(50) NOT NULL,
+    precio FLOAT(53) NOT NULL,
+    stock INTEGER NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    version BIGINT,
+    PRIMARY KEY (id),
+    -- La validación de duplicados de crear/actualizar es una búsqueda en este índice
+    CONSTRAINT uk_computadores_marca_modelo UNIQUE (marca, modelo)
+);
+
+-- Rangos de precio (findByPrecioBetween) y umbrales de stock (findByStockLessThan/GreaterThan)
+CREATE INDEX idx_computadores_precio ON computadores (precio);
+CREATE INDEX idx_computadores_stock ON computadores (stock);
+
+CREATE TABLE reservas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    computador_id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    estado VARCHAR(20) NOT NULL CHECK (estado IN ('PENDIENTE', 'CONFIRMADA', 'LIBERADA')),
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,15 @@
+-- Datos iniciales para la empresa de computadores
+INSERT INTO computadores (id, marca, modelo, procesador, memoria_ram, almacenamiento, precio, stock, fecha_creacion, version) VALUES
+(1, 'Dell', 'Inspiron 15 3000', 'Intel Core i5-1135G7', '8GB DDR4', '512GB SSD', 899.99, 15, CURRENT_TIMESTAMP, 0),
+(2, 'HP', 'Pavilion 15', 'AMD Ryzen 5 5500U', '16GB DDR4', '1TB HDD', 749.99, 8, CURRENT_TIMESTAMP, 0),
+(3, 'Lenovo', 'IdeaPad 3', 'Intel Core i3-1115G4', '8GB DDR4', '256GB SSD', 599.99, 12, CURRENT_TIMESTAMP, 0),
+(4, 'ASUS', 'VivoBook 15', 'AMD Ryzen 7 5700U', '16GB DDR4', '512GB SSD', 1099.99, 5, CURRENT_TIMESTAMP, 0),
+(5, 'Acer', 'Aspire 5', 'Intel Core i5-1235U', '12GB DDR4', '512GB SSD', 799.99, 20, CURRENT_TIMESTAMP, 0),
+(6, 'MSI', 'Modern 15', 'Intel Core i7-1260P', '16GB DDR4', '1TB SSD', 1299.99, 3, CURRENT_TIMESTAMP, 0),
+(7, 'Apple', 'MacBook Air M2', 'Apple M2', '8GB Unified Memory', '256GB SSD', 1199.99, 7, CURRENT_TIMESTAMP, 0),
+(8, 'Samsung', 'Galaxy Book2', 'Intel Core i5-1235U', '8GB DDR4', '256GB SSD', 899.99, 10, CURRENT_TIMESTAMP, 0),
+(9, 'Microsoft', 'Surface Laptop 5', 'Intel Core i5-1235U', '8GB DDR5', '256GB SSD', 999.99, 4, CURRENT_TIMESTAMP, 0),
+(10, 'Razer', 'Blade 15', 'Intel Core i7-12800H', '32GB DDR5', '1TB SSD', 2499.99, 2, CURRENT_TIMESTAMP, 0);
+
+-- Continuar la secuencia de IDs después de los datos iniciales
+ALTER SEQUENCE computadores_seq RESTART WITH 101;
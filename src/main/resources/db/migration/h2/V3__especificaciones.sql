@@ -0,0 +1,11 @@
+-- Especificaciones numéricas derivadas de memoria_ram y almacenamiento.
+-- Las filas existentes las completa BackfillEspecificaciones al iniciar la aplicación.
+ALTER TABLE computadores ADD COLUMN ram_gb INTEGER;
+ALTER TABLE computadores ADD COLUMN ram_tipo VARCHAR(20);
+ALTER TABLE computadores ADD COLUMN almacenamiento_gb INTEGER;
+ALTER TABLE computadores ADD COLUMN almacenamiento_tipo VARCHAR(20);
+
+-- "Al menos 16 GB de RAM", "SSD de 512 GB o más", "al menos 1 TB de cualquier tipo"
+CREATE INDEX idx_computadores_ram_gb ON computadores (ram_gb);
+CREATE INDEX idx_computadores_almacenamiento ON computadores (almacenamiento_tipo, almacenamiento_gb);
+CREATE INDEX idx_computadores_almacenamiento_gb ON computadores (almacenamiento_gb);
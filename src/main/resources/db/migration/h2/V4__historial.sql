@@ -0,0 +1,42 @@
+-- Historial de precio y stock: una fila por cada cambio confirmado; nunca se modifica ni se borra.
+-- Sin clave foránea: el historial de un computador eliminado se conserva.
+CREATE TABLE historial_computadores (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    computador_id BIGINT NOT NULL,
+    fecha TIMESTAMP(6) NOT NULL,
+    precio FLOAT(53) NOT NULL,
+    stock INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Línea base: el estado actual de cada computador, con su fecha de alta
+INSERT INTO historial_computadores (computador_id, fecha, precio, stock)
+SELECT id, fecha_creacion, precio, stock FROM computadores ORDER BY id;
+
+-- Últimos eventos de un computador (GET /api/historial/{id})
+CREATE INDEX idx_historial_computador_fecha ON historial_computadores (computador_id, fecha);
+
+-- Resumen diario por computador, calculado de forma incremental a partir del historial.
+-- unidades_salida/unidades_entrada suman las bajadas y subidas de stock del día.
+CREATE TABLE historial_diario (
+    computador_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    precio_apertura FLOAT(53) NOT NULL,
+    precio_cierre FLOAT(53) NOT NULL,
+    precio_minimo FLOAT(53) NOT NULL,
+    precio_maximo FLOAT(53) NOT NULL,
+    stock_cierre INTEGER NOT NULL,
+    unidades_salida INTEGER NOT NULL,
+    unidades_entrada INTEGER NOT NULL,
+    cambios INTEGER NOT NULL,
+    PRIMARY KEY (computador_id, dia)
+);
+
+-- Último evento del historial incluido en historial_diario
+CREATE TABLE historial_procesado (
+    id INTEGER NOT NULL,
+    ultimo_evento BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO historial_procesado (id, ultimo_evento) VALUES (1, 0);
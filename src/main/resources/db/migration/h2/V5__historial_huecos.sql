@@ -0,0 +1,8 @@
+-- IDs del historial que faltaban al plegar: su transacción todavía no se confirmaba (o se revirtió).
+-- Cada plegado vuelve a buscarlos y pliega los que ya aparecen; un hueco se descarta en "expira".
+CREATE TABLE historial_huecos (
+    desde BIGINT NOT NULL,
+    hasta BIGINT NOT NULL,
+    expira TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (desde)
+);
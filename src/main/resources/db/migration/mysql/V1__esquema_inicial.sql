@@ -0,0 +1,37 @@
+-- Esquema inicial del catálogo de computadores (MySQL)
+
+-- MySQL no tiene secuencias: Hibernate usa esta tabla con asignación por bloques de 50 IDs
+CREATE TABLE computadores_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO computadores_seq (next_val) VALUES (1);
+
+CREATE TABLE computadores (
+    id BIGINT NOT NULL,
+    marca VARCHAR(50) NOT NULL,
+    modelo VARCHAR(100) NOT NULL,
+    procesador VARCHAR(100) NOT NULL,
+    memoria_ram VARCHAR(20) NOT NULL,
+    almacenamiento VARCHAR(50) NOT NULL,
+    precio DOUBLE NOT NULL,
+    stock INT NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL,
+    version BIGINT,
+    PRIMARY KEY (id),
+    -- La validación de duplicados de crear/actualizar es una búsqueda en este índice
+    CONSTRAINT uk_computadores_marca_modelo UNIQUE (marca, modelo)
+) ENGINE = InnoDB;
+
+-- Rangos de precio (findByPrecioBetween) y umbrales de stock (findByStockLessThan/GreaterThan)
+CREATE INDEX idx_computadores_precio ON computadores (precio);
+CREATE INDEX idx_computadores_stock ON computadores (stock);
+
+CREATE TABLE reservas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    computador_id BIGINT NOT NULL,
+    cantidad INT NOT NULL,
+    estado ENUM('PENDIENTE', 'CONFIRMADA', 'LIBERADA') NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
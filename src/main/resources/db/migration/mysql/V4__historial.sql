@@ -0,0 +1,42 @@
+-- Historial de precio y stock: una fila por cada cambio confirmado; nunca se modifica ni se borra.
+-- Sin clave foránea: el historial de un computador eliminado se conserva.
+CREATE TABLE historial_computadores (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    computador_id BIGINT NOT NULL,
+    fecha DATETIME(6) NOT NULL,
+    precio DOUBLE NOT NULL,
+    stock INT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Línea base: el estado actual de cada computador, con su fecha de alta
+INSERT INTO historial_computadores (computador_id, fecha, precio, stock)
+SELECT id, fecha_creacion, precio, stock FROM computadores ORDER BY id;
+
+-- Últimos eventos de un computador (GET /api/historial/{id})
+CREATE INDEX idx_historial_computador_fecha ON historial_computadores (computador_id, fecha);
+
+-- Resumen diario por computador, calculado de forma incremental a partir del historial.
+-- unidades_salida/unidades_entrada suman las bajadas y subidas de stock del día.
+CREATE TABLE historial_diario (
+    computador_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    precio_apertura DOUBLE NOT NULL,
+    precio_cierre DOUBLE NOT NULL,
+    precio_minimo DOUBLE NOT NULL,
+    precio_maximo DOUBLE NOT NULL,
+    stock_cierre INT NOT NULL,
+    unidades_salida INT NOT NULL,
+    unidades_entrada INT NOT NULL,
+    cambios INT NOT NULL,
+    PRIMARY KEY (computador_id, dia)
+) ENGINE = InnoDB;
+
+-- Último evento del historial incluido en historial_diario
+CREATE TABLE historial_procesado (
+    id INT NOT NULL,
+    ultimo_evento BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO historial_procesado (id, ultimo_evento) VALUES (1, 0);
@@ -0,0 +1,85 @@
+-- Adopta una base creada por versiones anteriores con ddl-auto=update (IDs IDENTITY, sin
+-- computadores_seq, sin índices ni restricción única). Con spring.flyway.baseline-on-migrate esa base
+-- se marca como V1 y se aplican V3 a V6; en una base creada por V1 este script no cambia nada.
+-- Cada paso se puede repetir: si algo falla, se corrige, se ejecuta "flyway repair" y se reinicia.
+
+-- Antes de tocar nada: no puede haber dos computadores con la misma marca y modelo. Si los hay, el
+-- INSERT viola esta restricción y la migración se detiene (ver README, "Adoptar una base existente").
+CREATE TEMPORARY TABLE adopcion_verificacion (
+    duplicados INT NOT NULL,
+    CONSTRAINT hay_computadores_con_marca_y_modelo_repetidos CHECK (duplicados = 0)
+);
+
+INSERT INTO adopcion_verificacion (duplicados)
+SELECT COUNT(*) FROM (
+    SELECT marca, modelo FROM computadores GROUP BY marca, modelo HAVING COUNT(*) > 1
+) repetidos;
+
+DROP TEMPORARY TABLE adopcion_verificacion;
+
+-- Secuencia de IDs por bloques de 50: Hibernate lee v y usa v-49..v, así que next_val debe quedar
+-- al menos 50 por encima del mayor ID existente
+CREATE TABLE IF NOT EXISTS computadores_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO computadores_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM computadores_seq);
+
+UPDATE computadores_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id) + 50, 1) FROM computadores));
+
+-- Los IDs los asigna la secuencia, ya no AUTO_INCREMENT
+SET @sentencia = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE computadores MODIFY id BIGINT NOT NULL', 'DO 0')
+                  FROM information_schema.columns
+                  WHERE table_schema = DATABASE() AND table_name = 'computadores'
+                    AND column_name = 'id' AND extra LIKE '%auto_increment%');
+PREPARE sentencia FROM @sentencia;
+EXECUTE sentencia;
+DEALLOCATE PREPARE sentencia;
+
+-- Bloqueo optimista (@Version): las filas existentes empiezan en 0
+SET @sentencia = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE computadores ADD COLUMN version BIGINT', 'DO 0')
+                  FROM information_schema.columns
+                  WHERE table_schema = DATABASE() AND table_name = 'computadores' AND column_name = 'version');
+PREPARE sentencia FROM @sentencia;
+EXECUTE sentencia;
+DEALLOCATE PREPARE sentencia;
+
+UPDATE computadores SET version = 0 WHERE version IS NULL;
+
+-- Restricción única e índices de V1 que falten
+SET @sentencia = (SELECT IF(COUNT(*) = 0,
+                            'ALTER TABLE computadores ADD CONSTRAINT uk_computadores_marca_modelo UNIQUE (marca, modelo)',
+                            'DO 0')
+                  FROM information_schema.statistics
+                  WHERE table_schema = DATABASE() AND table_name = 'computadores'
+                    AND index_name = 'uk_computadores_marca_modelo');
+PREPARE sentencia FROM @sentencia;
+EXECUTE sentencia;
+DEALLOCATE PREPARE sentencia;
+
+SET @sentencia = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_computadores_precio ON computadores (precio)', 'DO 0')
+                  FROM information_schema.statistics
+                  WHERE table_schema = DATABASE() AND table_name = 'computadores'
+                    AND index_name = 'idx_computadores_precio');
+PREPARE sentencia FROM @sentencia;
+EXECUTE sentencia;
+DEALLOCATE PREPARE sentencia;
+
+SET @sentencia = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_computadores_stock ON computadores (stock)', 'DO 0')
+                  FROM information_schema.statistics
+                  WHERE table_schema = DATABASE() AND table_name = 'computadores'
+                    AND index_name = 'idx_computadores_stock');
+PREPARE sentencia FROM @sentencia;
+EXECUTE sentencia;
+DEALLOCATE PREPARE sentencia;
+
+CREATE TABLE IF NOT EXISTS reservas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    computador_id BIGINT NOT NULL,
+    cantidad INT NOT NULL,
+    estado ENUM('PENDIENTE', 'CONFIRMADA', 'LIBERADA') NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
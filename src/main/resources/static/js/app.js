@@ -1,22 +1,105 @@
 // Variables globales
 let computadores = [];
 let computadorToDelete = null;
+let computadorVersion = null;
+let siguienteCursor = null;
+let facetasSeleccionadas = {};
+let busquedaActiva = false;
+let feedCambios = null;
+
+// Nombres de las facetas devueltas por /facetas
+const FACETAS = {
+    marca: 'Marca',
+    familiaProcesador: 'Procesador',
+    rangoPrecio: 'Precio'
+};
 
 // URL base de la API
 const API_BASE = '/api/computadores';
 
+// Las lecturas reutilizan la respuesta guardada por el navegador si el servidor confirma
+// con 304 (If-None-Match) que el catálogo no cambió
+const LECTURA = { cache: 'no-cache' };
+
 // Cargar computadores al iniciar la página
 document.addEventListener('DOMContentLoaded', function() {
     loadAllComputadores();
+    connectFeedCambios();
 });
 
-// Función para cargar todos los computadores
+// Función para suscribirse al feed de cambios del catálogo. EventSource se reconecta solo
+// y envía Last-Event-ID, así que el servidor reenvía los eventos perdidos mientras tanto
+function connectFeedCambios() {
+    if (!window.EventSource) {
+        return;
+    }
+    feedCambios = new EventSource(API_BASE + '/eventos');
+    feedCambios.addEventListener('creado', event => applyCambio('creado', JSON.parse(event.data)));
+    feedCambios.addEventListener('actualizado', event => applyCambio('actualizado', JSON.parse(event.data)));
+    feedCambios.addEventListener('stock', event => applyCambio('actualizado', JSON.parse(event.data)));
+    feedCambios.addEventListener('eliminado', event => applyCambio('eliminado', JSON.parse(event.data)));
+    // Se perdieron eventos que el servidor ya no guarda: recargar la vista completa
+    feedCambios.addEventListener('reinicio', () => {
+        if (!busquedaActiva) {
+            loadAllComputadores();
+        }
+    });
+}
+
+// Función para aplicar un cambio a la tabla sin volver a pedir la página. Llega dos veces para
+// los cambios propios (respuesta y feed), así que repetirlo no cambia nada
+function applyCambio(tipo, computador) {
+    const indice = computadores.findIndex(c => c.id === computador.id);
+    if (tipo === 'eliminado') {
+        if (indice < 0) return;
+        computadores.splice(indice, 1);
+    } else if (indice >= 0) {
+        // No reemplazar por una versión anterior que llegue tarde
+        if (computador.version < computadores[indice].version) return;
+        computadores[indice] = computador;
+    } else if (tipo === 'creado' && !busquedaActiva && !siguienteCursor
+            && Object.keys(facetasSeleccionadas).length === 0) {
+        // Solo se agrega cuando la tabla muestra todo el catálogo sin filtros; los IDs son crecientes
+        computadores.push(computador);
+    } else {
+        return;
+    }
+    renderTable(computadores);
+}
+
+// Función para cargar la primera página de computadores
 async function loadAllComputadores() {
+    busquedaActiva = false;
+    computadores = [];
+    siguienteCursor = null;
+    await loadPage();
+}
+
+// Función para cargar la siguiente página de computadores
+async function loadMoreComputadores() {
+    if (siguienteCursor) {
+        await loadPage();
+    }
+}
+
+// Función para pedir una página al servidor usando el cursor actual y las facetas seleccionadas
+async function loadPage() {
+    const params = Object.entries(facetasSeleccionadas)
+        .map(([faceta, valor]) => `${faceta}=${encodeURIComponent(valor)}`);
+    if (siguienteCursor) {
+        params.push(`cursor=${encodeURIComponent(siguienteCursor)}`);
+    }
+    const url = API_BASE + '/facetas' + (params.length ? '?' + params.join('&') : '');
+
     try {
-        const response = await fetch(API_BASE);
+        const response = await fetch(url, LECTURA);
         if (response.ok) {
-            computadores = await response.json();
+            const pagina = await response.json();
+            computadores = computadores.concat(pagina.contenido);
+            siguienteCursor = pagina.siguienteCursor;
             renderTable(computadores);
+            renderFacetas(pagina.facetas);
+            updateLoadMoreButton();
         } else {
             showAlert('Error al cargar los computadores', 'danger');
         }
@@ -26,11 +109,54 @@ async function loadAllComputadores() {
     }
 }
 
+// Función para mostrar los valores de cada faceta con la cantidad de resultados que daría
+function renderFacetas(facetas) {
+    const container = document.getElementById('facetasContainer');
+    container.innerHTML = '';
+
+    Object.entries(FACETAS).forEach(([faceta, titulo]) => {
+        const columna = document.createElement('div');
+        columna.className = 'col-md-4';
+        columna.innerHTML = `<label class="form-label">${titulo}:</label><div></div>`;
+        const botones = columna.querySelector('div');
+
+        Object.entries(facetas[faceta] || {}).forEach(([valor, cantidad]) => {
+            const seleccionado = facetasSeleccionadas[faceta] === valor;
+            const boton = document.createElement('button');
+            boton.type = 'button';
+            boton.className = `btn btn-sm me-1 mb-1 ${seleccionado ? 'btn-primary' : 'btn-outline-secondary'}`;
+            boton.disabled = cantidad === 0 && !seleccionado;
+            boton.textContent = `${valor} (${cantidad})`;
+            boton.onclick = () => toggleFaceta(faceta, valor);
+            botones.appendChild(boton);
+        });
+        container.appendChild(columna);
+    });
+}
+
+// Función para seleccionar o quitar un valor de faceta y recargar desde la primera página
+function toggleFaceta(faceta, valor) {
+    if (facetasSeleccionadas[faceta] === valor) {
+        delete facetasSeleccionadas[faceta];
+    } else {
+        facetasSeleccionadas[faceta] = valor;
+    }
+    loadAllComputadores();
+}
+
+// Función para mostrar u ocultar el botón de cargar más
+function updateLoadMoreButton() {
+    document.getElementById('loadMoreButton').style.display = siguienteCursor ? 'inline-block' : 'none';
+}
+
 // Función para buscar computadores
 async function searchComputadores() {
     const marca = document.getElementById('searchMarca').value.trim();
     const modelo = document.getElementById('searchModelo').value.trim();
     const precio = document.getElementById('searchPrecio').value.trim();
+    const ramMin = document.getElementById('searchRamMin').value.trim();
+    const almacenamientoMin = document.getElementById('searchAlmacenamientoMin').value.trim();
+    const almacenamientoTipo = document.getElementById('searchAlmacenamientoTipo').value;
 
     let url = API_BASE + '/buscar?';
     const params = [];
@@ -38,6 +164,9 @@ async function searchComputadores() {
     if (marca) params.push(`marca=${encodeURIComponent(marca)}`);
     if (modelo) params.push(`modelo=${encodeURIComponent(modelo)}`);
     if (precio) params.push(`precioMax=${parseFloat(precio)}`);
+    if (ramMin) params.push(`ramMin=${parseInt(ramMin)}`);
+    if (almacenamientoMin) params.push(`almacenamientoMin=${parseInt(almacenamientoMin)}`);
+    if (almacenamientoTipo) params.push(`almacenamientoTipo=${encodeURIComponent(almacenamientoTipo)}`);
 
     if (params.length === 0) {
         showAlert('Por favor ingresa al menos un criterio de búsqueda', 'warning');
@@ -47,10 +176,13 @@ async function searchComputadores() {
     url += params.join('&');
 
     try {
-        const response = await fetch(url);
+        const response = await fetch(url, LECTURA);
         if (response.ok) {
             computadores = await response.json();
+            siguienteCursor = null;
+            busquedaActiva = true;
             renderTable(computadores);
+            updateLoadMoreButton();
             showAlert(`Se encontraron ${computadores.length} computadores`, 'success');
         } else {
             showAlert('Error en la búsqueda', 'danger');
@@ -111,6 +243,7 @@ function showAddModal() {
     document.getElementById('modalTitle').textContent = 'Nuevo Computador';
     document.getElementById('computadorForm').reset();
     document.getElementById('computadorId').value = '';
+    computadorVersion = null;
     
     const modal = new bootstrap.Modal(document.getElementById('computadorModal'));
     modal.show();
@@ -119,12 +252,13 @@ function showAddModal() {
 // Función para editar computador
 async function editComputador(id) {
     try {
-        const response = await fetch(`${API_BASE}/${id}`);
+        const response = await fetch(`${API_BASE}/${id}`, LECTURA);
         if (response.ok) {
             const computador = await response.json();
             
             // Llenar el formulario
             document.getElementById('computadorId').value = computador.id;
+            computadorVersion = computador.version;
             document.getElementById('marca').value = computador.marca;
             document.getElementById('modelo').value = computador.modelo;
             document.getElementById('procesador').value = computador.procesador;
@@ -166,6 +300,9 @@ async function saveComputador() {
 
     const id = document.getElementById('computadorId').value;
     const isEdit = id !== '';
+    if (isEdit) {
+        computadorData.version = computadorVersion;
+    }
 
     try {
         const url = isEdit ? `${API_BASE}/${id}` : API_BASE;
@@ -183,11 +320,12 @@ async function saveComputador() {
             const modal = bootstrap.Modal.getInstance(document.getElementById('computadorModal'));
             modal.hide();
             
+            // Se aplica la respuesta sin esperar al feed de cambios, que puede estar desconectado
+            applyCambio(isEdit ? 'actualizado' : 'creado', await response.json());
             showAlert(isEdit ? 'Computador actualizado exitosamente' : 'Computador creado exitosamente', 'success');
-            loadAllComputadores();
         } else {
             const errorData = await response.json();
-            showAlert(errorData.message || 'Error al guardar el computador', 'danger');
+            showAlert(errorData.mensaje || errorData.message || 'Error al guardar el computador', 'danger');
         }
     } catch (error) {
         console.error('Error:', error);
@@ -215,8 +353,8 @@ async function confirmDelete() {
             const modal = bootstrap.Modal.getInstance(document.getElementById('deleteModal'));
             modal.hide();
             
+            applyCambio('eliminado', { id: computadorToDelete });
             showAlert('Computador eliminado exitosamente', 'success');
-            loadAllComputadores();
         } else {
             showAlert('Error al eliminar el computador', 'danger');
         }
@@ -255,5 +393,9 @@ function clearSearch() {
     document.getElementById('searchMarca').value = '';
     document.getElementById('searchModelo').value = '';
     document.getElementById('searchPrecio').value = '';
+    document.getElementById('searchRamMin').value = '';
+    document.getElementById('searchAlmacenamientoMin').value = '';
+    document.getElementById('searchAlmacenamientoTipo').value = '';
+    facetasSeleccionadas = {};
     loadAllComputadores();
 }
@@ -0,0 +1,101 @@
+package com.empresa.computadores.service;
+
+import com.empresa.computadores.model.Computador;
+import com.empresa.computadores.repository.ComputadorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Miles de reservas simultáneas sobre el mismo computador (H2 en memoria): solo se reserva el stock
+ * que había y nunca queda negativo. Imprime las reservas por segundo alcanzadas, después de un
+ * calentamiento sobre otro computador para que no cuente la compilación JIT.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+class ReservaServiceConcurrenciaTest {
+
+    private static final int STOCK_INICIAL = 2_500;
+    private static final int RESERVAS = 5_000;
+    private static final int RESERVAS_CALENTAMIENTO = 2_000;
+    private static final int HILOS = 32;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ComputadorService computadorService;
+
+    @Autowired
+    private ComputadorRepository computadorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reservasConcurrentesNoVendenMasQueElStock() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            reservarALaVez(hilos, crearComputador(RESERVAS_CALENTAMIENTO), RESERVAS_CALENTAMIENTO);
+
+            Long id = crearComputador(STOCK_INICIAL);
+            long inicio = System.nanoTime();
+            int exitosas = reservarALaVez(hilos, id, RESERVAS);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.printf("%d reservas (%d exitosas) con %d hilos en %.2f s: %.0f reservas/s%n",
+                    RESERVAS, exitosas, HILOS, segundos, RESERVAS / segundos);
+
+            Integer reservadas = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(cantidad), 0) FROM reservas WHERE computador_id = ?", Integer.class, id);
+            assertThat(exitosas).isEqualTo(STOCK_INICIAL);
+            assertThat(reservadas).isEqualTo(STOCK_INICIAL);
+            assertThat(computadorRepository.findById(id).orElseThrow().getStock()).isZero();
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private Long crearComputador(int stock) {
+        return computadorService.crear(new Computador("Concurrencia", "Reserva-" + System.nanoTime(),
+                "Intel Core i5-1235U", "8GB DDR4", "512GB SSD", 999.0, stock)).getId();
+    }
+
+    // Todas las reservas parten a la vez; devuelve cuántas se concretaron
+    private int reservarALaVez(ExecutorService hilos, Long id, int reservas) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < reservas; i++) {
+            Callable<Boolean> reserva = () -> {
+                largada.await();
+                try {
+                    reservaService.reservar(id, 1);
+                    return true;
+                } catch (RuntimeException e) {
+                    // Stock insuficiente (o conflicto): la reserva se rechaza sin tocar el stock
+                    return false;
+                }
+            };
+            resultados.add(hilos.submit(reserva));
+        }
+        largada.countDown();
+
+        int exitosas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(60, TimeUnit.SECONDS)) {
+                exitosas++;
+            }
+        }
+        return exitosas;
+    }
+}